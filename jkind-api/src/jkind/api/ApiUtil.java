@@ -112,7 +112,7 @@ public class ApiUtil {
 				}
 			}
 
-			if (parseThread.getThrowable() != null) {
+			if (parseThread.getThrowable() != null && !monitor.isCanceled()) {
 				throw new JKindException("Error parsing XML", parseThread.getThrowable());
 			}
 		}
@@ -0,0 +1,36 @@
+package jkind.api;
+
+import jkind.JKind;
+import jkind.JKindException;
+import jkind.JKindSettings;
+import jkind.api.results.JKindResult;
+import jkind.lustre.Program;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Runs JKind within the current JVM rather than as a separate process. This
+ * is kept apart from ApiUtil so that jkind.jar is only needed on the class
+ * path by clients which use it.
+ */
+public class InProcessUtil {
+	public static void execute(JKindSettings settings, Program program, JKindResult result,
+			IProgressMonitor monitor, DebugLogger debug) {
+		try {
+			result.start();
+			JKind.run(settings, program, new JKindResultWriter(result), monitor::isCanceled);
+		} catch (JKindException e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new JKindException("Error running JKind in process", t);
+		} finally {
+			if (monitor.isCanceled()) {
+				result.cancel();
+			} else {
+				result.done();
+			}
+			monitor.done();
+			debug.println();
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package jkind.api;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -8,8 +10,11 @@ import java.util.List;
 import java.util.Map;
 
 import jkind.JKindException;
+import jkind.JKindSettings;
 import jkind.SolverOption;
 import jkind.api.results.JKindResult;
+import jkind.lustre.Program;
+import jkind.lustre.parsing.LustreParseUtil;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -35,6 +40,7 @@ public class JKindApi extends KindApi {
 	protected Map<String, String> environment = new HashMap<>();
 	protected String readAdviceFileName = null;
 	protected String writeAdviceFileName = null;
+	protected boolean inProcess = false;
 
 	/**
 	 * Set the maximum depth for BMC and k-induction
@@ -133,6 +139,16 @@ public class JKindApi extends KindApi {
 		environment.put(key, value);
 	}
 
+	/**
+	 * Run JKind within the current JVM instead of starting a new process.
+	 * This requires jkind.jar on the class path. Environment variables set
+	 * with setEnvironment() are not applied, so the solver must be found on
+	 * the PATH of the current process.
+	 */
+	public void setInProcess() {
+		inProcess = true;
+	}
+
 	/*
 	 * Set the advice file to be read
 	 */
@@ -161,7 +177,73 @@ public class JKindApi extends KindApi {
 	@Override
 	public void execute(File lustreFile, JKindResult result, IProgressMonitor monitor) {
 		debug.println("Lustre file", lustreFile);
-		ApiUtil.execute(this::getJKindProcessBuilder, lustreFile, result, monitor, debug);
+		if (inProcess) {
+			String program;
+			try {
+				program = new String(Files.readAllBytes(lustreFile.toPath()));
+			} catch (IOException e) {
+				throw new JKindException("Unable to read file: " + lustreFile, e);
+			}
+			executeInProcess(LustreParseUtil.program(program), result, monitor);
+		} else {
+			ApiUtil.execute(this::getJKindProcessBuilder, lustreFile, result, monitor, debug);
+		}
+	}
+
+	@Override
+	public void execute(Program program, JKindResult result, IProgressMonitor monitor) {
+		if (inProcess) {
+			debug.println("Lustre program", debug.saveFile("jkind-api-", ".lus", program.toString()));
+			executeInProcess(program, result, monitor);
+		} else {
+			super.execute(program, result, monitor);
+		}
+	}
+
+	@Override
+	public void execute(String program, JKindResult result, IProgressMonitor monitor) {
+		if (inProcess) {
+			debug.println("Lustre program", debug.saveFile("jkind-api-", ".lus", program));
+			executeInProcess(LustreParseUtil.program(program), result, monitor);
+		} else {
+			super.execute(program, result, monitor);
+		}
+	}
+
+	private void executeInProcess(Program program, JKindResult result, IProgressMonitor monitor) {
+		InProcessUtil.execute(getJKindSettings(), program, result, monitor, debug);
+	}
+
+	private JKindSettings getJKindSettings() {
+		JKindSettings settings = new JKindSettings();
+		if (timeout != null) {
+			settings.timeout = timeout;
+		}
+		if (n != null) {
+			settings.n = n;
+		}
+		settings.boundedModelChecking = boundedModelChecking;
+		settings.kInduction = kInduction;
+		settings.invariantGeneration = invariantGeneration;
+		if (pdrMax != null) {
+			settings.pdrMax = pdrMax;
+		}
+		settings.inductiveCounterexamples = inductiveCounterexamples;
+		settings.reduceIvc = ivcReduction || allIvcs;
+		settings.allIvcs = allIvcs;
+		settings.smoothCounterexamples = smoothCounterexamples;
+		settings.slicing = slicing;
+		if (solver != null) {
+			settings.solver = solver;
+		}
+		String tempDir = System.getProperty("java.io.tmpdir");
+		if (readAdviceFileName != null) {
+			settings.readAdvice = new File(tempDir, readAdviceFileName).getAbsolutePath();
+		}
+		if (writeAdviceFileName != null) {
+			settings.writeAdvice = new File(tempDir, writeAdviceFileName).getAbsolutePath();
+		}
+		return settings;
 	}
 
 	private ProcessBuilder getJKindProcessBuilder(File lustreFile) {
@@ -0,0 +1,98 @@
+package jkind.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jkind.api.results.JKindResult;
+import jkind.api.results.PropertyResult;
+import jkind.lustre.Expr;
+import jkind.results.Counterexample;
+import jkind.results.InconsistentProperty;
+import jkind.results.InvalidProperty;
+import jkind.results.Property;
+import jkind.results.UnknownProperty;
+import jkind.results.ValidProperty;
+import jkind.util.Tuple;
+import jkind.writers.Writer;
+
+/**
+ * Stores the results of an in-process JKind run directly into a JKindResult,
+ * giving the same properties the XML parser would produce.
+ */
+public class JKindResultWriter extends Writer {
+	private final JKindResult result;
+
+	public JKindResultWriter(JKindResult result) {
+		this.result = result;
+	}
+
+	@Override
+	public void begin() {
+	}
+
+	@Override
+	public void end() {
+	}
+
+	@Override
+	public void writeValid(List<String> props, String source, int k, double proofTime, double runtime,
+			List<Expr> invariants, Set<String> ivc, List<Tuple<Set<String>, List<String>>> allIvcs) {
+		List<String> invariantText = new ArrayList<>();
+		List<String> ivcText = new ArrayList<>();
+		if (allIvcs.isEmpty()) {
+			invariants.forEach(invariant -> invariantText.add(invariant.toString()));
+			ivcText.addAll(ivc);
+		} else {
+			// The XML lists each set in turn, which the parser concatenates
+			for (Tuple<Set<String>, List<String>> ivcSet : allIvcs) {
+				invariantText.addAll(ivcSet.secondElement());
+				ivcText.addAll(ivcSet.firstElement());
+			}
+		}
+
+		for (String prop : props) {
+			setProperty(new ValidProperty(prop, source, k, runtime, invariantText, ivcText));
+		}
+	}
+
+	@Override
+	public void writeInvalid(String prop, String source, Counterexample cex, List<String> conflicts,
+			double runtime) {
+		setProperty(new InvalidProperty(prop, source, cex, conflicts, runtime));
+	}
+
+	@Override
+	public void writeUnknown(List<String> props, int trueFor,
+			Map<String, Counterexample> inductiveCounterexamples, double runtime) {
+		for (String prop : props) {
+			setProperty(new UnknownProperty(prop, trueFor, inductiveCounterexamples.get(prop), runtime));
+		}
+	}
+
+	@Override
+	public void writeBaseStep(List<String> props, int k) {
+		for (String prop : props) {
+			PropertyResult pr = result.getPropertyResult(prop);
+			if (pr != null) {
+				pr.setBaseProgress(k);
+			}
+		}
+	}
+
+	@Override
+	public void writeInconsistent(String prop, String source, int k, double runtime) {
+		setProperty(new InconsistentProperty(prop, source, k, runtime));
+	}
+
+	private void setProperty(Property prop) {
+		PropertyResult pr = result.getPropertyResult(prop.getName());
+		if (pr == null) {
+			pr = result.addProperty(prop.getName());
+		}
+		if (pr != null) {
+			pr.setProperty(prop);
+		}
+	}
+}
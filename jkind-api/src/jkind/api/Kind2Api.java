@@ -101,7 +101,7 @@ public class Kind2Api extends KindApi {
 			}
 		}
 
-		if (parseThread.getThrowable() != null) {
+		if (parseThread.getThrowable() != null && !monitor.isCanceled()) {
 			throw new JKindException("Error parsing XML", parseThread.getThrowable());
 		}
 	}
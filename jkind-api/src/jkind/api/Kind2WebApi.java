@@ -92,7 +92,7 @@ public class Kind2WebApi extends Kind2Api {
 			monitor.done();
 		}
 
-		if (parseThread.getThrowable() != null) {
+		if (parseThread.getThrowable() != null && !monitor.isCanceled()) {
 			throw new JKindException("Error parsing XML", parseThread.getThrowable());
 		}
 	}
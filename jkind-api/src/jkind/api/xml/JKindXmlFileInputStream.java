@@ -36,6 +36,31 @@ public class JKindXmlFileInputStream extends InputStream {
 
 		return c;
 	}
+
+	/**
+	 * Return whatever is available once at least one byte has been written,
+	 * so that a parser reading in blocks sees each result as it is written
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!getStream()) {
+			return -1;
+		}
+
+		int n;
+		try {
+			while ((n = stream.read(b, off, len)) == -1 && !done) {
+				Thread.sleep(POLL_INTERVAL);
+			}
+		} catch (InterruptedException e) {
+			return -1;
+		}
+
+		return n;
+	}
 	
 	private boolean getStream() {
 		if (stream == null) {
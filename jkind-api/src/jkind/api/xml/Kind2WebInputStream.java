@@ -61,6 +61,29 @@ public class Kind2WebInputStream extends InputStream {
 		return buffer.charAt(index++);
 	}
 
+	/**
+	 * Return the rest of the last response instead of waiting to fill the
+	 * whole array
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		int c = read();
+		if (c == -1) {
+			return -1;
+		}
+		b[off] = (byte) c;
+
+		int n = 1;
+		while (n < len && index < buffer.length()) {
+			b[off + n++] = (byte) buffer.charAt(index++);
+		}
+		return n;
+	}
+
 	private void submitJob() throws IOException {
 		URL url = baseUri.resolve("submitjob").toURL();
 		URLConnection conn = createRequest(lustre, url);
@@ -1,21 +1,21 @@
 package jkind.api.xml;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import jkind.JKindException;
 import jkind.api.Backend;
@@ -24,6 +24,7 @@ import jkind.api.results.PropertyResult;
 import jkind.lustre.NamedType;
 import jkind.lustre.Type;
 import jkind.lustre.VarDecl;
+import jkind.lustre.values.ArrayValue;
 import jkind.lustre.values.Value;
 import jkind.results.Counterexample;
 import jkind.results.FunctionTable;
@@ -36,11 +37,17 @@ import jkind.results.ValidProperty;
 import jkind.util.Util;
 
 public class XmlParseThread extends Thread {
+	/**
+	 * Counterexamples at least this long are moved out of the heap
+	 */
+	private static final int SPILL_LENGTH = 10000;
+
 	private final InputStream xmlStream;
 	private final JKindResult result;
 	private final Backend backend;
-	private final DocumentBuilderFactory factory;
+	private final XMLInputFactory factory;
 	private volatile Throwable throwable;
+	private FileChannel spillChannel;
 	private Map<String, List<PropertyResult>> analysisToProps = new HashMap<>();
 
 	public XmlParseThread(InputStream xmlStream, JKindResult result, Backend backend) {
@@ -48,107 +55,117 @@ public class XmlParseThread extends Thread {
 		this.xmlStream = xmlStream;
 		this.result = result;
 		this.backend = backend;
-		this.factory = DocumentBuilderFactory.newInstance();
+		this.factory = XMLInputFactory.newInstance();
+		this.factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		this.factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
 	}
 
 	@Override
 	public void run() {
 		/*
-		 * XML parsers buffer their input which conflicts with the way we are
-		 * streaming data from the XML file as it is written. This results in
-		 * data in the XML not being acted upon until more content is written to
-		 * the XML file which causes the buffer to fill. Instead, we read the
-		 * XML file ourselves and give relevant pieces of it to the parser as
-		 * they are ready.
-		 * 
-		 * The downside is we assume the <Property ...> and </Property> tags are
-		 * on their own lines.
+		 * The XML is parsed as a stream of events, so each property is acted
+		 * upon as soon as its end tag is written and counterexamples go
+		 * straight into their signals without building a document tree. This
+		 * relies on the input stream returning whatever data is available
+		 * rather than blocking until the parser's buffer is full, see
+		 * JKindXmlFileInputStream.
 		 */
 
-		try (LineInputStream lines = new LineInputStream(xmlStream)) {
-			StringBuilder buffer = null;
-			String line;
-			String analysis = null;
-			while ((line = lines.readLine()) != null) {
-				boolean beginProperty = line.contains("<Property ");
-				boolean endProperty = line.contains("</Property>");
-				boolean beginProgress = line.contains("<Progress ");
-				boolean endProgress = line.contains("</Progress>");
-				boolean beginAnalysis = line.contains("<AnalysisStart");
-				boolean endAnalysis = line.contains("<AnalysisStop");
-
-				if (beginProgress && endProgress) {
-					// Kind 2 progress format uses a single line
-					parseKind2ProgressXml(line, analysis);
-				} else if (beginProgress || beginProperty) {
-					buffer = new StringBuilder();
-					buffer.append(line);
-				} else if (endProperty) {
-					buffer.append(line);
-					parsePropetyXml(buffer.toString(), analysis);
-					buffer = null;
-				} else if (endProgress) {
-					buffer.append(line);
-					parseJKindProgressXml(buffer.toString());
-					buffer = null;
-				} else if (beginAnalysis) {
-					analysis = parseKind2AnalysisXml(line);
-				} else if (endAnalysis) {
-					analysis = null;
-				} else if (buffer != null) {
-					buffer.append(line);
-				}
-			}
+		try (InputStream input = xmlStream) {
+			XMLStreamReader xml = factory.createXMLStreamReader(input);
+			parseResults(xml);
+			xml.close();
 		} catch (Throwable t) {
+			// The output is cut short when the process is canceled, so callers
+			// ignore this if they canceled the run
 			throwable = t;
+		} finally {
+			closeSpillChannel();
 		}
 	}
 
-	private String parseKind2AnalysisXml(String line) {
-		Element progressElement = parseXml(line);
-		String analysis = progressElement.getAttribute("top");
-		analysisToProps.putIfAbsent(analysis, new ArrayList<>());
-		return analysis;
-	}
+	private void parseResults(XMLStreamReader xml) throws XMLStreamException {
+		String analysis = null;
+		int depth = 0;
+		while (xml.hasNext()) {
+			int event = xml.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				switch (xml.getLocalName()) {
+				case "Property":
+					parseProperty(xml, analysis);
+					break;
+
+				case "Progress":
+					parseProgress(xml, analysis);
+					break;
+
+				case "AnalysisStart":
+					analysis = getAttribute(xml, "top");
+					analysisToProps.putIfAbsent(analysis, new ArrayList<>());
+					depth++;
+					break;
+
+				case "AnalysisStop":
+					analysis = null;
+					depth++;
+					break;
 
-	private Element parseXml(String xml) {
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			Document doc = builder.parse(new InputSource(new StringReader(xml)));
-			return doc.getDocumentElement();
-		} catch (Exception e) {
-			throw new JKindException("Error parsing: " + xml, e);
+				default:
+					depth++;
+					break;
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+				if (depth == 0) {
+					// Ignore anything written after the root element
+					return;
+				}
+			}
 		}
 	}
 
-	private void parseKind2ProgressXml(String progressXml, String analysis) {
-		Element progressElement = parseXml(progressXml);
-		String source = progressElement.getAttribute("source");
-		if ("bmc".equals(source)) {
-			int k = Integer.parseInt(progressElement.getTextContent());
-			for (PropertyResult pr : analysisToProps.get(analysis)) {
-				pr.setBaseProgress(k);
+	private void parseProgress(XMLStreamReader xml, String analysis) throws XMLStreamException {
+		String source = getAttribute(xml, "source");
+		switch (backend) {
+		case JKIND:
+			int trueFor = "bmc".equals(source) ? Integer.parseInt(getAttribute(xml, "trueFor")) : 0;
+			while (nextElement(xml, "Progress")) {
+				if ("bmc".equals(source) && xml.getLocalName().equals("PropertyProgress")) {
+					PropertyResult pr = result.getPropertyResult(getAttribute(xml, "name"));
+					if (pr != null) {
+						pr.setBaseProgress(trueFor);
+					}
+				}
 			}
-		}
-	}
+			break;
 
-	private void parseJKindProgressXml(String progressXml) {
-		Element progressElement = parseXml(progressXml);
-		String source = progressElement.getAttribute("source");
-		if ("bmc".equals(source)) {
-			int trueFor = Integer.parseInt(progressElement.getAttribute("trueFor"));
-			for (Element propertyElement : getElements(progressElement, "PropertyProgress")) {
-				String prop = propertyElement.getAttribute("name");
-				PropertyResult pr = result.getPropertyResult(prop);
-				if (pr != null) {
-					pr.setBaseProgress(trueFor);
+		case KIND2:
+			String text = xml.getElementText();
+			if ("bmc".equals(source)) {
+				int k = Integer.parseInt(text);
+				for (PropertyResult pr : analysisToProps.get(analysis)) {
+					pr.setBaseProgress(k);
 				}
 			}
+			break;
+
+		default:
+			throw new IllegalArgumentException();
 		}
 	}
 
 	public void parsePropetyXml(String propertyXml, String analysis) {
-		Property prop = getProperty(parseXml(propertyXml));
+		try {
+			XMLStreamReader xml = factory.createXMLStreamReader(new StringReader(propertyXml));
+			xml.nextTag();
+			parseProperty(xml, analysis);
+		} catch (XMLStreamException e) {
+			throw new JKindException("Error parsing: " + propertyXml, e);
+		}
+	}
+
+	private void parseProperty(XMLStreamReader xml, String analysis) throws XMLStreamException {
+		Property prop = getProperty(xml);
 		String propName = prop.getName();
 		PropertyResult pr = getOrAddProperty(analysis, propName);
 		if (pr != null) {
@@ -171,17 +188,59 @@ public class XmlParseThread extends Thread {
 		return pr;
 	}
 
-	private Property getProperty(Element propertyElement) {
-		String name = propertyElement.getAttribute("name");
-		double runtime = getRuntime(getElement(propertyElement, "Runtime"));
-		int trueFor = getTrueFor(getElement(propertyElement, "TrueFor"));
-		int k = getK(getElement(propertyElement, "K"));
-		String answer = getAnswer(getElement(propertyElement, "Answer"));
-		String source = getSource(getElement(propertyElement, "Answer"));
-		List<String> invariants = getStringList(getElements(propertyElement, "Invariant"));
-		List<String> ivc = getStringList(getElements(propertyElement, "Ivc"));
-		List<String> conflicts = getConflicts(getElement(propertyElement, "Conflicts"));
-		Counterexample cex = getCounterexample(getElement(propertyElement, "Counterexample"), k);
+	private Property getProperty(XMLStreamReader xml) throws XMLStreamException {
+		String name = getAttribute(xml, "name");
+		double runtime = 0;
+		int trueFor = 0;
+		int k = 0;
+		String answer = null;
+		String source = null;
+		List<String> invariants = new ArrayList<>();
+		List<String> ivc = new ArrayList<>();
+		List<String> conflicts = Collections.emptyList();
+		Counterexample cex = null;
+
+		while (nextElement(xml, "Property")) {
+			switch (xml.getLocalName()) {
+			case "Runtime":
+				runtime = Double.parseDouble(xml.getElementText());
+				break;
+
+			case "TrueFor":
+				trueFor = Integer.parseInt(xml.getElementText());
+				break;
+
+			case "K":
+				k = getK(xml.getElementText());
+				break;
+
+			case "Answer":
+				source = getAttribute(xml, "source");
+				answer = xml.getElementText();
+				break;
+
+			case "Invariant":
+				invariants.add(xml.getElementText());
+				break;
+
+			case "Ivc":
+				ivc.add(xml.getElementText());
+				break;
+
+			case "Conflicts":
+				conflicts = getConflicts(xml);
+				break;
+
+			case "Counterexample":
+				// Both backends write K before the counterexample
+				cex = getCounterexample(xml, k);
+				break;
+			}
+		}
+
+		if (answer == null) {
+			throw new JKindException("Missing answer for property " + name + " in XML file");
+		}
 
 		switch (answer) {
 		case "valid":
@@ -201,25 +260,8 @@ public class XmlParseThread extends Thread {
 		}
 	}
 
-	private double getRuntime(Node runtimeNode) {
-		if (runtimeNode == null) {
-			return 0;
-		}
-		return Double.parseDouble(runtimeNode.getTextContent());
-	}
-
-	private int getTrueFor(Node trueForNode) {
-		if (trueForNode == null) {
-			return 0;
-		}
-		return Integer.parseInt(trueForNode.getTextContent());
-	}
-
-	private int getK(Node kNode) {
-		if (kNode == null) {
-			return 0;
-		}
-		int k = Integer.parseInt(kNode.getTextContent());
+	private int getK(String text) {
+		int k = Integer.parseInt(text);
 
 		switch (backend) {
 		case JKIND:
@@ -231,47 +273,57 @@ public class XmlParseThread extends Thread {
 		}
 	}
 
-	private String getAnswer(Node answerNode) {
-		return answerNode.getTextContent();
-	}
-
-	private String getSource(Element answerNode) {
-		return answerNode.getAttribute("source");
-	}
-
-	private List<String> getStringList(List<Element> elements) {
-		List<String> result = new ArrayList<>();
-		for (Element e : elements) {
-			result.add(e.getTextContent());
+	private List<String> getConflicts(XMLStreamReader xml) throws XMLStreamException {
+		List<String> conflicts = new ArrayList<>();
+		while (nextElement(xml, "Conflicts")) {
+			if (xml.getLocalName().equals("Conflict")) {
+				conflicts.add(xml.getElementText());
+			}
 		}
-		return result;
+		return conflicts;
 	}
 
-	private List<String> getConflicts(Element conflictsElement) {
-		if (conflictsElement == null) {
-			return Collections.emptyList();
+	private Counterexample getCounterexample(XMLStreamReader xml, int k) throws XMLStreamException {
+		Counterexample cex = new Counterexample(k);
+		String signalTag = getSignalTag();
+		while (nextElement(xml, "Counterexample")) {
+			if (xml.getLocalName().equals(signalTag)) {
+				cex.addSignal(getSignal(xml));
+			} else if (xml.getLocalName().equals("Function")) {
+				cex.addFunctionTable(getFunction(xml));
+			}
 		}
-
-		List<String> conflicts = new ArrayList<>();
-		for (Element conflictElement : getElements(conflictsElement, "Conflict")) {
-			conflicts.add(conflictElement.getTextContent());
+		if (k >= SPILL_LENGTH) {
+			spill(cex);
 		}
-		return conflicts;
+		return cex;
 	}
 
-	private Counterexample getCounterexample(Element cexElement, int k) {
-		if (cexElement == null) {
-			return null;
+	/**
+	 * All long counterexamples of a run share one file. The file is deleted
+	 * when the run ends (or, where open mappings prevent that, once the
+	 * last of its counterexamples is discarded).
+	 */
+	private void spill(Counterexample cex) {
+		try {
+			if (spillChannel == null) {
+				spillChannel = FileChannel.open(Files.createTempFile("jkind-cex", ".bin"),
+						StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+			}
+			cex.spill(spillChannel);
+		} catch (IOException e) {
+			throw new JKindException("Unable to spill counterexample", e);
 		}
+	}
 
-		Counterexample cex = new Counterexample(k);
-		for (Element signalElement : getElements(cexElement, getSignalTag())) {
-			cex.addSignal(getSignal(signalElement));
-		}
-		for (Element functionElement : getElements(cexElement, "Function")) {
-			cex.addFunctionTable(getFunction(functionElement));
+	private void closeSpillChannel() {
+		if (spillChannel != null) {
+			try {
+				spillChannel.close();
+			} catch (IOException e) {
+			}
+			spillChannel = null;
 		}
-		return cex;
 	}
 
 	protected String getSignalTag() {
@@ -285,17 +337,20 @@ public class XmlParseThread extends Thread {
 		}
 	}
 
-	private Signal<Value> getSignal(Element signalElement) {
-		String name = signalElement.getAttribute("name");
-		String type = signalElement.getAttribute("type");
+	private Signal<Value> getSignal(XMLStreamReader xml) throws XMLStreamException {
+		String name = getAttribute(xml, "name");
+		String type = getAttribute(xml, "type");
 		if (type.contains("subrange ")) {
 			type = "int";
 		}
 
 		Signal<Value> signal = new Signal<>(name);
-		for (Element valueElement : getElements(signalElement, "Value")) {
-			int time = Integer.parseInt(valueElement.getAttribute(getTimeAttribute()));
-			signal.putValue(time, getValue(valueElement, type));
+		String timeAttribute = getTimeAttribute();
+		while (nextElement(xml, getSignalTag())) {
+			if (xml.getLocalName().equals("Value")) {
+				int time = Integer.parseInt(getAttribute(xml, timeAttribute));
+				signal.putValue(time, getValue(xml, type));
+			}
 		}
 		return signal;
 	}
@@ -311,54 +366,117 @@ public class XmlParseThread extends Thread {
 		}
 	}
 
-	private Value getValue(Element valueElement, String type) {
+	private Value getValue(XMLStreamReader xml, String type) throws XMLStreamException {
 		if (type.startsWith("array of")) {
 			type = type.replaceAll("array of ", "");
-			return Util.parseArrayValue(type, getElement(valueElement, "Array"));
+			xml.nextTag();
+			Value value = getArrayValue(xml, type);
+			xml.nextTag();
+			return value;
 		}
 
-		return Util.parseValue(type, valueElement.getTextContent());
+		return Util.parseValue(type, xml.getElementText());
 	}
 
-	private FunctionTable getFunction(Element functionElement) {
-		String name = functionElement.getAttribute("name");
-		List<VarDecl> inputs = new ArrayList<>();
-		for (Element inputElement : getElements(functionElement, "Input")) {
-			inputs.add(getVarDecl(inputElement));
+	private Value getArrayValue(XMLStreamReader xml, String type) throws XMLStreamException {
+		int size = Integer.parseInt(getAttribute(xml, "size"));
+		List<Value> elements = new ArrayList<>();
+		while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (xml.getLocalName().equals("Array")) {
+				elements.add(getArrayValue(xml, type));
+			} else {
+				int index = Integer.parseInt(getAttribute(xml, "index"));
+				if (index != elements.size()) {
+					throw new IllegalArgumentException("We expect array indicies to be sorted");
+				}
+				elements.add(Util.parseValue(type, xml.getElementText()));
+			}
 		}
-		VarDecl output = getVarDecl(getElement(functionElement, "Output"));
-		FunctionTable table = new FunctionTable(name, inputs, output);
-		
-		for (Element fvElement : getElements(functionElement, "FunctionValue")) {
-			List<Value> inputValues = new ArrayList<>();
-			List<Element> ivElements = getElements(fvElement, "InputValue");
-			for (int i = 0; i < inputs.size(); i++) {
-				inputValues.add(Util.parseValue(inputs.get(i).type, ivElements.get(i).getTextContent()));
+		if (elements.size() != size) {
+			throw new JKindException("Expected " + size + " array elements in XML file, found " + elements.size());
+		}
+		return new ArrayValue(elements);
+	}
+
+	private FunctionTable getFunction(XMLStreamReader xml) throws XMLStreamException {
+		String name = getAttribute(xml, "name");
+		List<VarDecl> inputs = new ArrayList<>();
+		VarDecl output = null;
+		FunctionTable table = null;
+
+		while (nextElement(xml, "Function")) {
+			switch (xml.getLocalName()) {
+			case "Input":
+				inputs.add(getVarDecl(xml));
+				break;
+
+			case "Output":
+				output = getVarDecl(xml);
+				break;
+
+			case "FunctionValue":
+				// The inputs and output are written before the values
+				if (table == null) {
+					table = new FunctionTable(name, inputs, output);
+				}
+				addFunctionValue(xml, table, inputs, output);
+				break;
 			}
-			Value outputValue = Util.parseValue(output.type, getElement(fvElement, "OutputValue").getTextContent());
-			table.addRow(inputValues, outputValue);
 		}
 
+		if (table == null) {
+			table = new FunctionTable(name, inputs, output);
+		}
 		return table;
 	}
 
-	private VarDecl getVarDecl(Element element) {
-		String name = element.getAttribute("name");
-		Type type = NamedType.get(element.getAttribute("type"));
-		return new VarDecl(name, type);
+	private void addFunctionValue(XMLStreamReader xml, FunctionTable table, List<VarDecl> inputs, VarDecl output)
+			throws XMLStreamException {
+		List<Value> inputValues = new ArrayList<>();
+		Value outputValue = null;
+		while (nextElement(xml, "FunctionValue")) {
+			if (xml.getLocalName().equals("InputValue")) {
+				Type type = inputs.get(inputValues.size()).type;
+				inputValues.add(Util.parseValue(type, xml.getElementText()));
+			} else if (xml.getLocalName().equals("OutputValue")) {
+				outputValue = Util.parseValue(output.type, xml.getElementText());
+			}
+		}
+		table.addRow(inputValues, outputValue);
 	}
 
-	private Element getElement(Element element, String name) {
-		return (Element) element.getElementsByTagName(name).item(0);
+	private VarDecl getVarDecl(XMLStreamReader xml) {
+		String name = getAttribute(xml, "name");
+		Type type = NamedType.get(getAttribute(xml, "type"));
+		return new VarDecl(name, type);
 	}
 
-	private List<Element> getElements(Element element, String name) {
-		List<Element> elements = new ArrayList<>();
-		NodeList nodeList = element.getElementsByTagName(name);
-		for (int i = 0; i < nodeList.getLength(); i++) {
-			elements.add((Element) nodeList.item(i));
+	/**
+	 * Advance to the next element nested anywhere within the current element
+	 * of the given name. Elements not handled by the caller are descended
+	 * into, but elements with the same name as the parent must be consumed by
+	 * the caller.
+	 *
+	 * @return false once the end of the current element is reached
+	 */
+	private static boolean nextElement(XMLStreamReader xml, String parent) throws XMLStreamException {
+		while (xml.hasNext()) {
+			int event = xml.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			} else if (event == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals(parent)) {
+				return false;
+			}
 		}
-		return elements;
+		throw new XMLStreamException("Unexpected end of XML inside " + parent);
+	}
+
+	/**
+	 * Attribute of the current element, or the empty string if it is missing
+	 */
+	private static String getAttribute(XMLStreamReader xml, String name) {
+		String value = xml.getAttributeValue(null, name);
+		return value == null ? "" : value;
 	}
 
 	public Throwable getThrowable() {
@@ -0,0 +1,41 @@
+package jkind.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jkind.Main;
+import jkind.engines.invariant.RandomSimulator;
+import jkind.lustre.Program;
+import jkind.lustre.values.Value;
+import jkind.translation.Specification;
+import jkind.translation.Translate;
+
+/**
+ * Access to the Lustre models in the testing directory. The directory is set
+ * by the jkind.corpus system property, which the Gradle build passes to the
+ * forked benchmark JVMs.
+ */
+public class Corpus {
+	private static final String DIRECTORY = System.getProperty("jkind.corpus", "../testing");
+	private static final int TRACES = 100;
+
+	public static Program parse(String file) throws Exception {
+		return Main.parseLustre(new File(DIRECTORY, file).getPath());
+	}
+
+	public static Specification specification(String file) throws Exception {
+		return new Specification(Translate.translate(parse(file)), true);
+	}
+
+	/**
+	 * Reachable states of the model, found by the same random simulation the
+	 * invariant generator uses, so that benchmarks see realistic values
+	 */
+	public static List<Map<String, Value>> states(Specification spec) {
+		List<Map<String, Value>> states = new ArrayList<>();
+		new RandomSimulator(spec).simulate(TRACES, Long.MAX_VALUE, states::add);
+		return states;
+	}
+}
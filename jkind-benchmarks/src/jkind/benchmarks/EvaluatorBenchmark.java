@@ -0,0 +1,108 @@
+package jkind.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jkind.engines.invariant.CandidateGenerator;
+import jkind.engines.invariant.GraphInvariant;
+import jkind.lustre.Expr;
+import jkind.lustre.IdExpr;
+import jkind.lustre.values.Value;
+import jkind.lustre.visitors.CompiledExpr;
+import jkind.lustre.visitors.Evaluator;
+import jkind.lustre.visitors.ExprCompiler;
+import jkind.translation.Specification;
+
+/**
+ * Evaluation of invariant candidates on reachable states, both directly and as
+ * part of refining a candidate graph
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EvaluatorBenchmark {
+	/**
+	 * Refinement is far more expensive than evaluation, so it only uses a
+	 * prefix of the states
+	 */
+	private static final int REFINEMENTS = 50;
+
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus", "8-peg.lus", "array.lus" })
+	public String file;
+
+	private List<Expr> candidates;
+	private List<Map<String, Value>> states;
+	private List<Evaluator> evaluators;
+	private List<CompiledExpr> compiledCandidates;
+	private List<Value[]> slotStates;
+
+	@Setup
+	public void setup() throws Exception {
+		Specification spec = Corpus.specification(file);
+		candidates = new CandidateGenerator(spec).generate();
+		states = Corpus.states(spec);
+
+		evaluators = new ArrayList<>();
+		for (Map<String, Value> state : states) {
+			evaluators.add(new Evaluator() {
+				@Override
+				public Value visit(IdExpr e) {
+					return state.get(e.id);
+				}
+			});
+		}
+
+		ExprCompiler compiler = new ExprCompiler(spec.typeMap);
+		compiledCandidates = new ArrayList<>();
+		for (Expr candidate : candidates) {
+			compiledCandidates.add(compiler.compile(candidate));
+		}
+		slotStates = new ArrayList<>();
+		for (Map<String, Value> state : states) {
+			Value[] values = new Value[compiler.getVariables().size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = state.get(compiler.getVariables().get(i));
+			}
+			slotStates.add(values);
+		}
+	}
+
+	@Benchmark
+	public void interpret(Blackhole blackhole) {
+		for (Evaluator evaluator : evaluators) {
+			for (Expr candidate : candidates) {
+				blackhole.consume(evaluator.eval(candidate));
+			}
+		}
+	}
+
+	@Benchmark
+	public void compiled(Blackhole blackhole) {
+		for (Value[] values : slotStates) {
+			for (CompiledExpr candidate : compiledCandidates) {
+				blackhole.consume(candidate.eval(slot -> values[slot]));
+			}
+		}
+	}
+
+	@Benchmark
+	public GraphInvariant refine() {
+		GraphInvariant invariant = new GraphInvariant(candidates);
+		for (Evaluator evaluator : evaluators.subList(0, Math.min(REFINEMENTS, evaluators.size()))) {
+			invariant.refine(evaluator);
+		}
+		return invariant;
+	}
+}
@@ -0,0 +1,90 @@
+package jkind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jkind.JKindException;
+import jkind.JKindSettings;
+import jkind.engines.BmcEngine;
+import jkind.engines.Director;
+import jkind.engines.KInductionEngine;
+import jkind.engines.messages.BaseStepMessage;
+import jkind.translation.Specification;
+
+/**
+ * The k-induction engine up to a fixed depth, with hypotheses asserted once
+ * per step (incremental) or repeated in every query. The engine runs alone:
+ * it is told up front that every property holds in the base steps, so it
+ * never waits for a bmc engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InductionBenchmark {
+	private static final int DEPTH = 10;
+
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus" })
+	public String file;
+
+	@Param({ "true", "false" })
+	public boolean incremental;
+
+	private Specification spec;
+
+	@Setup
+	public void setup() throws Exception {
+		spec = Corpus.specification(file);
+	}
+
+	/**
+	 * Reported next to the score: the time per step k, and the size of the
+	 * solver context as the largest number of active assertions. In the
+	 * non-incremental mode the hypotheses are part of each query instead.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Steps {
+		public int steps;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			steps = 0;
+		}
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Context {
+		public int assertions;
+	}
+
+	@Benchmark
+	public KInductionEngine induction(Steps steps, Context context) {
+		JKindSettings settings = new JKindSettings();
+		settings.n = DEPTH;
+		settings.incrementalInduction = incremental;
+		settings.telemetry = true;
+
+		Director director = new Director(settings, spec, spec);
+		KInductionEngine engine = new KInductionEngine(spec, settings, director);
+		engine.receiveMessage(new BaseStepMessage(BmcEngine.NAME, DEPTH, spec.node.properties));
+		engine.run();
+		if (engine.getThrowable() != null) {
+			throw new JKindException("Induction failed on " + file, engine.getThrowable());
+		}
+
+		steps.steps += engine.getCurrentK() + 1;
+		context.assertions = engine.getTelemetry().getMaxAssertions();
+		return engine;
+	}
+}
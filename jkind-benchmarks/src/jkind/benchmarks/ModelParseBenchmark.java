@@ -0,0 +1,118 @@
+package jkind.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jkind.lustre.Type;
+import jkind.lustre.values.BooleanValue;
+import jkind.lustre.values.IntegerValue;
+import jkind.lustre.values.RealValue;
+import jkind.lustre.values.Value;
+import jkind.solvers.smtlib2.SmtLib2Model;
+import jkind.solvers.smtlib2.SmtLib2Solver;
+import jkind.translation.Specification;
+import jkind.util.StreamIndex;
+import jkind.util.Util;
+
+/**
+ * Parsing of SMT-LIB2 models as printed by the solvers. The model text is
+ * built from simulated states over several steps, so its size and values
+ * resemble a real counterexample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ModelParseBenchmark {
+	private static final int STEPS = 10;
+
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus", "8-peg.lus", "array.lus" })
+	public String file;
+
+	private Specification spec;
+	private final Map<String, Type> varTypes = new HashMap<>();
+	private String modelText;
+
+	@Setup
+	public void setup() throws Exception {
+		spec = Corpus.specification(file);
+		List<Map<String, Value>> states = Corpus.states(spec);
+		if (states.isEmpty()) {
+			states = Collections.singletonList(Collections.emptyMap());
+		}
+
+		StringBuilder text = new StringBuilder("(model\n");
+		for (int step = 0; step < STEPS; step++) {
+			Map<String, Value> state = states.get(step % states.size());
+			for (String id : spec.typeMap.keySet()) {
+				Type type = spec.typeMap.get(id);
+				String encoded = new StreamIndex(id, step).getEncoded().str;
+				varTypes.put(encoded, type);
+
+				Value value = state.get(id);
+				if (value == null) {
+					value = Util.getDefaultValue(type);
+				}
+				text.append("  (define-fun " + encoded + " () " + getSort(value) + " "
+						+ toSmtLib2(value) + ")\n");
+			}
+		}
+		text.append(")\n");
+		modelText = text.toString();
+	}
+
+	private static String getSort(Value value) {
+		if (value instanceof BooleanValue) {
+			return "Bool";
+		} else if (value instanceof IntegerValue) {
+			return "Int";
+		} else {
+			return "Real";
+		}
+	}
+
+	private static String toSmtLib2(Value value) {
+		if (value instanceof IntegerValue) {
+			return toSmtLib2(((IntegerValue) value).value);
+		} else if (value instanceof RealValue) {
+			RealValue rv = (RealValue) value;
+			return "(/ " + toSmtLib2(rv.value.getNumerator()) + " "
+					+ rv.value.getDenominator() + ")";
+		} else {
+			return value.toString();
+		}
+	}
+
+	private static String toSmtLib2(BigInteger value) {
+		if (value.signum() < 0) {
+			return "(- " + value.negate() + ")";
+		}
+		return value.toString();
+	}
+
+	@Benchmark
+	public SmtLib2Model parseModel() {
+		return SmtLib2Solver.parseSmtLib2Model(modelText, varTypes, spec.functions);
+	}
+
+	@Benchmark
+	public void parseModelAndReadValues(Blackhole blackhole) {
+		SmtLib2Model model = SmtLib2Solver.parseSmtLib2Model(modelText, varTypes, spec.functions);
+		for (String id : varTypes.keySet()) {
+			blackhole.consume(model.getValue(id));
+		}
+	}
+}
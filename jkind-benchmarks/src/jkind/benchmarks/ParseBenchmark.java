@@ -0,0 +1,26 @@
+package jkind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import jkind.lustre.Program;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParseBenchmark {
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus", "8-peg.lus", "array.lus" })
+	public String file;
+
+	@Benchmark
+	public Program parseLustre() throws Exception {
+		return Corpus.parse(file);
+	}
+}
@@ -0,0 +1,36 @@
+package jkind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jkind.translation.Lustre2Sexp;
+import jkind.translation.Relation;
+import jkind.translation.Specification;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SexpBenchmark {
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus", "8-peg.lus", "array.lus" })
+	public String file;
+
+	private Specification spec;
+
+	@Setup
+	public void setup() throws Exception {
+		spec = Corpus.specification(file);
+	}
+
+	@Benchmark
+	public Relation constructTransitionRelation() {
+		return Lustre2Sexp.constructTransitionRelation(spec.node);
+	}
+}
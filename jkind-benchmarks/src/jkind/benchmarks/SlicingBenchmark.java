@@ -0,0 +1,47 @@
+package jkind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jkind.lustre.Node;
+import jkind.lustre.Program;
+import jkind.slicing.DependencyMap;
+import jkind.slicing.LustreSlicer;
+import jkind.translation.Translate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlicingBenchmark {
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus", "8-peg.lus", "array.lus" })
+	public String file;
+
+	private Program program;
+	private Node main;
+	private DependencyMap dependencyMap;
+
+	@Setup
+	public void setup() throws Exception {
+		program = Translate.translate(Corpus.parse(file));
+		main = program.getMainNode();
+		dependencyMap = new DependencyMap(main, main.properties, program.functions);
+	}
+
+	@Benchmark
+	public DependencyMap dependencyMap() {
+		return new DependencyMap(main, main.properties, program.functions);
+	}
+
+	@Benchmark
+	public Node slice() {
+		return LustreSlicer.slice(main, dependencyMap);
+	}
+}
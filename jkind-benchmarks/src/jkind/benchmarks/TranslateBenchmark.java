@@ -0,0 +1,102 @@
+package jkind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jkind.lustre.Program;
+import jkind.translation.FlattenPres;
+import jkind.translation.InlineConstants;
+import jkind.translation.InlineDeclarations;
+import jkind.translation.InlineEnumValues;
+import jkind.translation.InlineNodeCalls;
+import jkind.translation.InlineUserTypes;
+import jkind.translation.RemoveCondacts;
+import jkind.translation.Translate;
+import jkind.translation.compound.FlattenCompoundTypes;
+
+/**
+ * Each pass of {@link jkind.translation.Translate}, run on the output of the
+ * passes before it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TranslateBenchmark {
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus", "8-peg.lus", "array.lus" })
+	public String file;
+
+	private Program parsed;
+	private Program enumValuesInlined;
+	private Program userTypesInlined;
+	private Program constantsInlined;
+	private Program condactsRemoved;
+	private Program nodeCallsInlined;
+	private Program compoundTypesFlattened;
+
+	@Setup
+	public void setup() throws Exception {
+		parsed = Corpus.parse(file);
+		enumValuesInlined = InlineEnumValues.program(parsed);
+		userTypesInlined = InlineUserTypes.program(enumValuesInlined);
+		constantsInlined = InlineConstants.program(userTypesInlined);
+		condactsRemoved = RemoveCondacts.program(constantsInlined);
+		nodeCallsInlined = InlineNodeCalls.program(condactsRemoved);
+		compoundTypesFlattened = FlattenCompoundTypes.program(nodeCallsInlined);
+	}
+
+	@Benchmark
+	public Program inlineEnumValues() {
+		return InlineEnumValues.program(parsed);
+	}
+
+	@Benchmark
+	public Program inlineUserTypes() {
+		return InlineUserTypes.program(enumValuesInlined);
+	}
+
+	@Benchmark
+	public Program inlineConstants() {
+		return InlineConstants.program(userTypesInlined);
+	}
+
+	/**
+	 * The fused equivalent of the three passes above
+	 */
+	@Benchmark
+	public Program inlineDeclarations() {
+		return InlineDeclarations.program(parsed);
+	}
+
+	@Benchmark
+	public Program removeCondacts() {
+		return RemoveCondacts.program(constantsInlined);
+	}
+
+	@Benchmark
+	public Program inlineNodeCalls() {
+		return InlineNodeCalls.program(condactsRemoved);
+	}
+
+	@Benchmark
+	public Program flattenCompoundTypes() {
+		return FlattenCompoundTypes.program(nodeCallsInlined);
+	}
+
+	@Benchmark
+	public Program flattenPres() {
+		return FlattenPres.program(compoundTypesFlattened);
+	}
+
+	@Benchmark
+	public Program translate() {
+		return Translate.translate(parsed);
+	}
+}
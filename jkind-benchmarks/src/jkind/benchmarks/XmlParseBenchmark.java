@@ -0,0 +1,83 @@
+package jkind.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jkind.api.Backend;
+import jkind.api.results.JKindResult;
+import jkind.api.xml.XmlParseThread;
+import jkind.lustre.values.Value;
+import jkind.results.Counterexample;
+import jkind.translation.Specification;
+import jkind.writers.XmlWriter;
+
+/**
+ * Parsing of JKind XML results by the API, on a file holding one long
+ * counterexample written by XmlWriter. Sample time gives the latency
+ * distribution, and the gc profiler the memory allocated per parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XmlParseBenchmark {
+	@Param({ "pilot_flying.lus", "microwave.mcdc.lus", "drivetrain.lus", "8-peg.lus", "array.lus" })
+	public String file;
+
+	@Param({ "100", "1000", "10000" })
+	public int steps;
+
+	private byte[] xml;
+
+	@Setup
+	public void setup() throws Exception {
+		Specification spec = Corpus.specification(file);
+		List<Map<String, Value>> states = Corpus.states(spec);
+		if (states.isEmpty()) {
+			states = Collections.singletonList(Collections.emptyMap());
+		}
+
+		Counterexample cex = new Counterexample(steps);
+		for (int step = 0; step < steps; step++) {
+			Map<String, Value> state = states.get(step % states.size());
+			for (String id : state.keySet()) {
+				cex.getOrCreateSignal(id).putValue(step, state.get(id));
+			}
+		}
+
+		File temp = File.createTempFile("jkind-benchmark", ".xml");
+		try {
+			XmlWriter writer = new XmlWriter(temp.getPath(), spec.typeMap, false);
+			writer.begin();
+			writer.writeInvalid(file, "bmc", cex, Collections.emptyList(), 1.0);
+			writer.end();
+			xml = Files.readAllBytes(temp.toPath());
+		} finally {
+			temp.delete();
+		}
+	}
+
+	@Benchmark
+	public JKindResult parse() throws Throwable {
+		JKindResult result = new JKindResult(file);
+		XmlParseThread parser = new XmlParseThread(new ByteArrayInputStream(xml), result, Backend.JKIND);
+		parser.run();
+		if (parser.getThrowable() != null) {
+			throw parser.getThrowable();
+		}
+		return result;
+	}
+}
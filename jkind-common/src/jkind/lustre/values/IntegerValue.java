@@ -12,6 +12,16 @@ import jkind.util.Util;
 public class IntegerValue extends Value {
 	public final BigInteger value;
 
+	private static final int CACHE_LOW = -128;
+	private static final int CACHE_HIGH = 1024;
+	private static final IntegerValue[] CACHE = new IntegerValue[CACHE_HIGH - CACHE_LOW + 1];
+
+	static {
+		for (int i = 0; i < CACHE.length; i++) {
+			CACHE[i] = new IntegerValue(BigInteger.valueOf(CACHE_LOW + i));
+		}
+	}
+
 	public IntegerValue(BigInteger value) {
 		if (value == null) {
 			throw new IllegalArgumentException("Cannot create null integer value");
@@ -19,6 +29,26 @@ public class IntegerValue extends Value {
 		this.value = value;
 	}
 
+	/**
+	 * Like the constructor, but shares instances for common small values
+	 */
+	public static IntegerValue valueOf(BigInteger value) {
+		if (value.bitLength() < Integer.SIZE) {
+			int i = value.intValue();
+			if (CACHE_LOW <= i && i <= CACHE_HIGH) {
+				return CACHE[i - CACHE_LOW];
+			}
+		}
+		return new IntegerValue(value);
+	}
+
+	public static IntegerValue valueOf(long value) {
+		if (CACHE_LOW <= value && value <= CACHE_HIGH) {
+			return CACHE[(int) value - CACHE_LOW];
+		}
+		return new IntegerValue(BigInteger.valueOf(value));
+	}
+
 	@Override
 	public Value applyBinaryOp(BinaryOp op, Value right) {
 		if (!(right instanceof IntegerValue)) {
@@ -26,6 +56,13 @@ public class IntegerValue extends Value {
 		}
 		BigInteger other = ((IntegerValue) right).value;
 
+		if (isSmall(value) && isSmall(other)) {
+			Value result = applySmallBinaryOp(op, value.longValue(), other.longValue());
+			if (result != null) {
+				return result;
+			}
+		}
+
 		switch (op) {
 		case PLUS:
 			return new IntegerValue(value.add(other));
@@ -54,11 +91,53 @@ public class IntegerValue extends Value {
 		}
 	}
 
+	/**
+	 * Small enough that sums, differences, and comparisons cannot overflow a
+	 * long
+	 */
+	private static boolean isSmall(BigInteger value) {
+		return value.bitLength() < Long.SIZE - 2;
+	}
+
+	/**
+	 * Returns null when the operation is left to BigInteger
+	 */
+	private static Value applySmallBinaryOp(BinaryOp op, long a, long b) {
+		switch (op) {
+		case PLUS:
+			return valueOf(a + b);
+		case MINUS:
+			return valueOf(a - b);
+		case MULTIPLY:
+			long high = Math.abs(a) | Math.abs(b);
+			return (high >>> (Integer.SIZE - 1)) == 0 ? valueOf(a * b) : null;
+		case INT_DIVIDE:
+			// Util.smtDivide fails on other divisors, so leave those to BigInteger
+			return b > 0 ? valueOf(Math.floorDiv(a, b)) : null;
+		case MODULUS:
+			return b > 0 ? valueOf(Math.floorMod(a, b)) : null;
+		case EQUAL:
+			return BooleanValue.fromBoolean(a == b);
+		case NOTEQUAL:
+			return BooleanValue.fromBoolean(a != b);
+		case GREATER:
+			return BooleanValue.fromBoolean(a > b);
+		case LESS:
+			return BooleanValue.fromBoolean(a < b);
+		case GREATEREQUAL:
+			return BooleanValue.fromBoolean(a >= b);
+		case LESSEQUAL:
+			return BooleanValue.fromBoolean(a <= b);
+		default:
+			return null;
+		}
+	}
+
 	@Override
 	public Value applyUnaryOp(UnaryOp op) {
 		switch (op) {
 		case NEGATIVE:
-			return new IntegerValue(value.negate());
+			return valueOf(value.negate());
 		default:
 			return null;
 		}
@@ -0,0 +1,13 @@
+package jkind.lustre.visitors;
+
+import java.util.function.IntFunction;
+
+import jkind.lustre.values.Value;
+
+/**
+ * An expression prepared by {@link ExprCompiler} for repeated evaluation. The
+ * state maps variable slots to values and may return null for unknown values.
+ */
+public interface CompiledExpr {
+	public Value eval(IntFunction<Value> state);
+}
@@ -123,7 +123,7 @@ public abstract class Evaluator implements ExprVisitor<Value> {
 
 	@Override
 	public Value visit(IntExpr e) {
-		return new IntegerValue(e.value);
+		return IntegerValue.valueOf(e.value);
 	}
 
 	@Override
@@ -0,0 +1,618 @@
+package jkind.lustre.visitors;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import jkind.lustre.ArrayAccessExpr;
+import jkind.lustre.ArrayExpr;
+import jkind.lustre.ArrayUpdateExpr;
+import jkind.lustre.BinaryExpr;
+import jkind.lustre.BinaryOp;
+import jkind.lustre.BoolExpr;
+import jkind.lustre.CastExpr;
+import jkind.lustre.CondactExpr;
+import jkind.lustre.EnumType;
+import jkind.lustre.Expr;
+import jkind.lustre.FunctionCallExpr;
+import jkind.lustre.IdExpr;
+import jkind.lustre.IfThenElseExpr;
+import jkind.lustre.IntExpr;
+import jkind.lustre.NamedType;
+import jkind.lustre.NodeCallExpr;
+import jkind.lustre.RealExpr;
+import jkind.lustre.RecordAccessExpr;
+import jkind.lustre.RecordExpr;
+import jkind.lustre.RecordUpdateExpr;
+import jkind.lustre.SubrangeIntType;
+import jkind.lustre.TupleExpr;
+import jkind.lustre.Type;
+import jkind.lustre.UnaryExpr;
+import jkind.lustre.UnaryOp;
+import jkind.lustre.values.BooleanValue;
+import jkind.lustre.values.IntegerValue;
+import jkind.lustre.values.RealValue;
+import jkind.lustre.values.Value;
+import jkind.util.BigFraction;
+
+/**
+ * Compiles expressions over a fixed set of variables into trees of closures
+ * which evaluate without visitor dispatch. Boolean and integer operations are
+ * computed on primitive values and fall back to the {@link Value} operations
+ * on overflow or unexpected values, so results always agree with
+ * {@link Evaluator}.
+ */
+public class ExprCompiler {
+	private final Map<String, Type> typeMap;
+	private final List<String> variables;
+	private final Map<String, Integer> slots = new HashMap<>();
+	private final Compiler compiler = new Compiler();
+
+	public ExprCompiler(Map<String, Type> typeMap) {
+		this.typeMap = typeMap;
+		this.variables = new ArrayList<>(typeMap.keySet());
+		for (int i = 0; i < variables.size(); i++) {
+			slots.put(variables.get(i), i);
+		}
+	}
+
+	/**
+	 * Variables in slot order
+	 */
+	public List<String> getVariables() {
+		return Collections.unmodifiableList(variables);
+	}
+
+	public int getSlot(String id) {
+		Integer slot = slots.get(id);
+		return slot == null ? -1 : slot;
+	}
+
+	public CompiledExpr compile(Expr e) {
+		return e.accept(compiler);
+	}
+
+	private enum Kind {
+		BOOL, INT, OTHER
+	}
+
+	private static Kind getKind(Type type) {
+		if (type == NamedType.BOOL) {
+			return Kind.BOOL;
+		} else if (type == NamedType.INT || type instanceof SubrangeIntType
+				|| type instanceof EnumType) {
+			return Kind.INT;
+		} else {
+			return Kind.OTHER;
+		}
+	}
+
+	private static Kind getKind(BinaryOp op, Code left, Code right) {
+		switch (op) {
+		case EQUAL:
+		case NOTEQUAL:
+		case GREATER:
+		case LESS:
+		case GREATEREQUAL:
+		case LESSEQUAL:
+		case OR:
+		case AND:
+		case XOR:
+		case IMPLIES:
+			return Kind.BOOL;
+		case ARROW:
+			return Kind.OTHER;
+		default:
+			return left.kind == right.kind ? left.kind : Kind.OTHER;
+		}
+	}
+
+	private class Compiler implements ExprVisitor<Code> {
+		@Override
+		public Code visit(ArrayAccessExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(ArrayExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(ArrayUpdateExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(BinaryExpr e) {
+			Code left = e.left.accept(this);
+			Code right = e.right.accept(this);
+			Code slow = new BinaryCode(getKind(e.op, left, right), e.op, left, right);
+			boolean ints = left.kind == Kind.INT && right.kind == Kind.INT;
+			boolean bools = left.kind == Kind.BOOL && right.kind == Kind.BOOL;
+
+			switch (e.op) {
+			case PLUS:
+			case MINUS:
+			case MULTIPLY:
+			case INT_DIVIDE:
+			case MODULUS:
+				return ints ? new IntArithmeticCode(e.op, left, right, slow) : slow;
+
+			case EQUAL:
+			case NOTEQUAL:
+				if (ints) {
+					return new IntComparisonCode(e.op, left, right, slow);
+				}
+				return bools ? new BoolBinaryCode(e.op, left, right, slow) : slow;
+
+			case GREATER:
+			case LESS:
+			case GREATEREQUAL:
+			case LESSEQUAL:
+				return ints ? new IntComparisonCode(e.op, left, right, slow) : slow;
+
+			case OR:
+			case AND:
+			case XOR:
+			case IMPLIES:
+				return bools ? new BoolBinaryCode(e.op, left, right, slow) : slow;
+
+			default:
+				return slow;
+			}
+		}
+
+		@Override
+		public Code visit(BoolExpr e) {
+			return new ConstantCode(Kind.BOOL, BooleanValue.fromBoolean(e.value));
+		}
+
+		@Override
+		public Code visit(CastExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(CondactExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(FunctionCallExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(IdExpr e) {
+			int slot = getSlot(e.id);
+			if (slot < 0) {
+				return new ConstantCode(Kind.OTHER, null);
+			}
+			return new VariableCode(getKind(typeMap.get(e.id)), slot);
+		}
+
+		@Override
+		public Code visit(IfThenElseExpr e) {
+			Code cond = e.cond.accept(this);
+			Code thenCode = e.thenExpr.accept(this);
+			Code elseCode = e.elseExpr.accept(this);
+			return new IfThenElseCode(cond, thenCode, elseCode);
+		}
+
+		@Override
+		public Code visit(IntExpr e) {
+			return new ConstantCode(Kind.INT, new IntegerValue(e.value));
+		}
+
+		@Override
+		public Code visit(NodeCallExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(RealExpr e) {
+			return new ConstantCode(Kind.OTHER, new RealValue(BigFraction.valueOf(e.value)));
+		}
+
+		@Override
+		public Code visit(RecordAccessExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(RecordExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(RecordUpdateExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(TupleExpr e) {
+			return new InterpretedCode(e);
+		}
+
+		@Override
+		public Code visit(UnaryExpr e) {
+			Code expr = e.expr.accept(this);
+			if (e.op == UnaryOp.NOT) {
+				Code slow = new UnaryCode(Kind.BOOL, e.op, expr);
+				return expr.kind == Kind.BOOL ? new NotCode(expr, slow) : slow;
+			} else if (e.op == UnaryOp.NEGATIVE) {
+				Code slow = new UnaryCode(expr.kind, e.op, expr);
+				return expr.kind == Kind.INT ? new NegativeCode(expr, slow) : slow;
+			} else {
+				return new UnaryCode(Kind.OTHER, e.op, expr);
+			}
+		}
+	}
+
+	/**
+	 * Thrown by the primitive evaluation methods when a value is unknown, has
+	 * an unexpected type, or does not fit in a primitive
+	 */
+	private static class Fallback extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		public Fallback() {
+			super(null, null, false, false);
+		}
+	}
+
+	private static final Fallback FALLBACK = new Fallback();
+
+	private static abstract class Code implements CompiledExpr {
+		protected final Kind kind;
+
+		protected Code(Kind kind) {
+			this.kind = kind;
+		}
+
+		/**
+		 * Evaluate exactly as {@link Evaluator} would, including returning null
+		 * for unknown values
+		 */
+		protected abstract Value value(IntFunction<Value> state);
+
+		protected boolean bool(IntFunction<Value> state) {
+			Value value = value(state);
+			if (value instanceof BooleanValue) {
+				return ((BooleanValue) value).value;
+			}
+			throw FALLBACK;
+		}
+
+		protected long integer(IntFunction<Value> state) {
+			Value value = value(state);
+			if (value instanceof IntegerValue) {
+				BigInteger i = ((IntegerValue) value).value;
+				if (i.bitLength() < Long.SIZE) {
+					return i.longValue();
+				}
+			}
+			throw FALLBACK;
+		}
+
+		@Override
+		public Value eval(IntFunction<Value> state) {
+			return value(state);
+		}
+	}
+
+	private static class ConstantCode extends Code {
+		private final Value value;
+
+		public ConstantCode(Kind kind, Value value) {
+			super(kind);
+			this.value = value;
+		}
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			return value;
+		}
+	}
+
+	private static class VariableCode extends Code {
+		private final int slot;
+
+		public VariableCode(Kind kind, int slot) {
+			super(kind);
+			this.slot = slot;
+		}
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			return state.apply(slot);
+		}
+	}
+
+	private class InterpretedCode extends Code {
+		private final Expr expr;
+
+		public InterpretedCode(Expr expr) {
+			super(Kind.OTHER);
+			this.expr = expr;
+		}
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			Evaluator evaluator = new Evaluator() {
+				@Override
+				public Value visit(IdExpr e) {
+					int slot = getSlot(e.id);
+					return slot < 0 ? null : state.apply(slot);
+				}
+			};
+			return evaluator.eval(expr);
+		}
+	}
+
+	private static class UnaryCode extends Code {
+		private final UnaryOp op;
+		private final Code expr;
+
+		public UnaryCode(Kind kind, UnaryOp op, Code expr) {
+			super(kind);
+			this.op = op;
+			this.expr = expr;
+		}
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			Value value = expr.value(state);
+			if (value == null) {
+				return null;
+			}
+			return value.applyUnaryOp(op);
+		}
+	}
+
+	private static class BinaryCode extends Code {
+		private final BinaryOp op;
+		private final Code left;
+		private final Code right;
+
+		public BinaryCode(Kind kind, BinaryOp op, Code left, Code right) {
+			super(kind);
+			this.op = op;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			Value leftValue = left.value(state);
+			Value rightValue = right.value(state);
+			if (leftValue == null || rightValue == null) {
+				return null;
+			}
+			return leftValue.applyBinaryOp(op, rightValue);
+		}
+	}
+
+	private static class IfThenElseCode extends Code {
+		private final Code cond;
+		private final Code thenCode;
+		private final Code elseCode;
+
+		public IfThenElseCode(Code cond, Code thenCode, Code elseCode) {
+			super(thenCode.kind == elseCode.kind ? thenCode.kind : Kind.OTHER);
+			this.cond = cond;
+			this.thenCode = thenCode;
+			this.elseCode = elseCode;
+		}
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			BooleanValue value = (BooleanValue) cond.value(state);
+			if (value == null) {
+				return null;
+			}
+			return value.value ? thenCode.value(state) : elseCode.value(state);
+		}
+
+		@Override
+		protected boolean bool(IntFunction<Value> state) {
+			return cond.bool(state) ? thenCode.bool(state) : elseCode.bool(state);
+		}
+
+		@Override
+		protected long integer(IntFunction<Value> state) {
+			return cond.bool(state) ? thenCode.integer(state) : elseCode.integer(state);
+		}
+	}
+
+	/**
+	 * A boolean operation with a primitive implementation. Like the
+	 * interpreter, all operands are evaluated so that unknown values propagate.
+	 */
+	private static abstract class BoolCode extends Code {
+		private final Code slow;
+
+		protected BoolCode(Code slow) {
+			super(Kind.BOOL);
+			this.slow = slow;
+		}
+
+		@Override
+		protected abstract boolean bool(IntFunction<Value> state);
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			try {
+				return BooleanValue.fromBoolean(bool(state));
+			} catch (Fallback | ArithmeticException e) {
+				return slow.value(state);
+			}
+		}
+	}
+
+	/**
+	 * An integer operation with a primitive implementation
+	 */
+	private static abstract class IntCode extends Code {
+		private final Code slow;
+
+		protected IntCode(Code slow) {
+			super(Kind.INT);
+			this.slow = slow;
+		}
+
+		@Override
+		protected abstract long integer(IntFunction<Value> state);
+
+		@Override
+		protected Value value(IntFunction<Value> state) {
+			try {
+				return IntegerValue.valueOf(integer(state));
+			} catch (Fallback | ArithmeticException e) {
+				return slow.value(state);
+			}
+		}
+	}
+
+	private static class NotCode extends BoolCode {
+		private final Code expr;
+
+		public NotCode(Code expr, Code slow) {
+			super(slow);
+			this.expr = expr;
+		}
+
+		@Override
+		protected boolean bool(IntFunction<Value> state) {
+			return !expr.bool(state);
+		}
+	}
+
+	private static class BoolBinaryCode extends BoolCode {
+		private final BinaryOp op;
+		private final Code left;
+		private final Code right;
+
+		public BoolBinaryCode(BinaryOp op, Code left, Code right, Code slow) {
+			super(slow);
+			this.op = op;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected boolean bool(IntFunction<Value> state) {
+			boolean a = left.bool(state);
+			boolean b = right.bool(state);
+			switch (op) {
+			case EQUAL:
+				return a == b;
+			case NOTEQUAL:
+			case XOR:
+				return a != b;
+			case OR:
+				return a || b;
+			case AND:
+				return a && b;
+			case IMPLIES:
+				return !a || b;
+			default:
+				throw FALLBACK;
+			}
+		}
+	}
+
+	private static class IntComparisonCode extends BoolCode {
+		private final BinaryOp op;
+		private final Code left;
+		private final Code right;
+
+		public IntComparisonCode(BinaryOp op, Code left, Code right, Code slow) {
+			super(slow);
+			this.op = op;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected boolean bool(IntFunction<Value> state) {
+			long a = left.integer(state);
+			long b = right.integer(state);
+			switch (op) {
+			case EQUAL:
+				return a == b;
+			case NOTEQUAL:
+				return a != b;
+			case GREATER:
+				return a > b;
+			case LESS:
+				return a < b;
+			case GREATEREQUAL:
+				return a >= b;
+			case LESSEQUAL:
+				return a <= b;
+			default:
+				throw FALLBACK;
+			}
+		}
+	}
+
+	private static class NegativeCode extends IntCode {
+		private final Code expr;
+
+		public NegativeCode(Code expr, Code slow) {
+			super(slow);
+			this.expr = expr;
+		}
+
+		@Override
+		protected long integer(IntFunction<Value> state) {
+			return Math.negateExact(expr.integer(state));
+		}
+	}
+
+	private static class IntArithmeticCode extends IntCode {
+		private final BinaryOp op;
+		private final Code left;
+		private final Code right;
+
+		public IntArithmeticCode(BinaryOp op, Code left, Code right, Code slow) {
+			super(slow);
+			this.op = op;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected long integer(IntFunction<Value> state) {
+			long a = left.integer(state);
+			long b = right.integer(state);
+			switch (op) {
+			case PLUS:
+				return Math.addExact(a, b);
+			case MINUS:
+				return Math.subtractExact(a, b);
+			case MULTIPLY:
+				return Math.multiplyExact(a, b);
+			case INT_DIVIDE:
+				// Util.smtDivide fails on other divisors, so leave those to slow
+				if (b > 0) {
+					return Math.floorDiv(a, b);
+				}
+				throw FALLBACK;
+			case MODULUS:
+				if (b > 0) {
+					return Math.floorMod(a, b);
+				}
+				throw FALLBACK;
+			default:
+				throw FALLBACK;
+			}
+		}
+	}
+}
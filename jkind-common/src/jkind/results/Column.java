@@ -0,0 +1,347 @@
+package jkind.results;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import jkind.lustre.values.BooleanValue;
+import jkind.lustre.values.EnumValue;
+import jkind.lustre.values.IntegerValue;
+import jkind.lustre.values.RealValue;
+import jkind.lustre.values.Value;
+import jkind.util.BigFraction;
+
+/**
+ * Storage for the values of a signal. Most signals hold a single kind of
+ * value on consecutive steps, so values are kept in packed primitive arrays
+ * indexed by step rather than as objects. Values are recreated when read.
+ */
+abstract class Column {
+	private final PackedArray present = new PackedArray(1);
+	private int size = 0;
+	private int count = 0;
+
+	static Column create(int step, Value value) {
+		Column column = createPacked(value);
+		if (column != null && column.accepts(step, value)) {
+			return column;
+		}
+		return new ValueColumn();
+	}
+
+	private static Column createPacked(Value value) {
+		if (value == null) {
+			return null;
+		} else if (value.getClass() == BooleanValue.class) {
+			return new BooleanColumn();
+		} else if (value.getClass() == IntegerValue.class) {
+			return new IntegerColumn();
+		} else if (value.getClass() == RealValue.class) {
+			return new RealColumn();
+		} else if (value.getClass() == EnumValue.class) {
+			return new EnumColumn();
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Check if the value can be stored in this column, otherwise the signal
+	 * falls back to a ValueColumn
+	 */
+	boolean accepts(int step, Value value) {
+		return step >= 0 && value != null && acceptsValue(value);
+	}
+
+	protected abstract boolean acceptsValue(Value value);
+
+	protected abstract Value read(int step);
+
+	protected abstract void write(int step, Value value);
+
+	/**
+	 * Move the packed arrays of the column to a file
+	 *
+	 * @return Position after the arrays in the file
+	 */
+	protected abstract long mapValues(FileChannel channel, long position) throws IOException;
+
+	void put(int step, Value value) {
+		write(step, value);
+		if (present.get(step) == 0) {
+			present.set(step, 1);
+			count++;
+		}
+		size = Math.max(size, step + 1);
+	}
+
+	int size() {
+		return size;
+	}
+
+	Value get(int step) {
+		if (step < 0 || step >= size || present.get(step) == 0) {
+			return null;
+		}
+		return read(step);
+	}
+
+	long map(FileChannel channel, long position) throws IOException {
+		position += present.map(channel, position);
+		return mapValues(channel, position);
+	}
+
+	ValueColumn toValueColumn() {
+		ValueColumn result = new ValueColumn();
+		for (Map.Entry<Integer, Value> entry : asMap().entrySet()) {
+			result.put(entry.getKey(), entry.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * A read-only view of the values indexed by step
+	 */
+	Map<Integer, Value> asMap() {
+		return new AbstractMap<Integer, Value>() {
+			@Override
+			public Value get(Object key) {
+				return key instanceof Integer ? Column.this.get((Integer) key) : null;
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return get(key) != null;
+			}
+
+			@Override
+			public Set<Entry<Integer, Value>> entrySet() {
+				return new AbstractSet<Entry<Integer, Value>>() {
+					@Override
+					public int size() {
+						return count;
+					}
+
+					@Override
+					public Iterator<Entry<Integer, Value>> iterator() {
+						return new StepIterator();
+					}
+				};
+			}
+		};
+	}
+
+	private class StepIterator implements Iterator<Map.Entry<Integer, Value>> {
+		private int next = advance(0);
+
+		private int advance(int step) {
+			while (step < size && present.get(step) == 0) {
+				step++;
+			}
+			return step;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Map.Entry<Integer, Value> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			int step = next;
+			next = advance(step + 1);
+			return new AbstractMap.SimpleImmutableEntry<>(step, read(step));
+		}
+	}
+
+	private static boolean fitsLong(BigInteger value) {
+		return value.bitLength() < Long.SIZE;
+	}
+
+	static class BooleanColumn extends Column {
+		private final PackedArray bits = new PackedArray(1);
+
+		@Override
+		protected boolean acceptsValue(Value value) {
+			return value.getClass() == BooleanValue.class;
+		}
+
+		@Override
+		protected Value read(int step) {
+			return BooleanValue.fromBoolean(bits.get(step) == 1);
+		}
+
+		@Override
+		protected void write(int step, Value value) {
+			bits.set(step, ((BooleanValue) value).value ? 1 : 0);
+		}
+
+		@Override
+		protected long mapValues(FileChannel channel, long position) throws IOException {
+			return position + bits.map(channel, position);
+		}
+	}
+
+	static class IntegerColumn extends Column {
+		private final PackedArray values = new PackedArray(Long.SIZE);
+
+		@Override
+		protected boolean acceptsValue(Value value) {
+			return value.getClass() == IntegerValue.class && fitsLong(((IntegerValue) value).value);
+		}
+
+		@Override
+		protected Value read(int step) {
+			return IntegerValue.valueOf(values.get(step));
+		}
+
+		@Override
+		protected void write(int step, Value value) {
+			values.set(step, ((IntegerValue) value).value.longValue());
+		}
+
+		@Override
+		protected long mapValues(FileChannel channel, long position) throws IOException {
+			return position + values.map(channel, position);
+		}
+	}
+
+	static class RealColumn extends Column {
+		private final PackedArray numerators = new PackedArray(Long.SIZE);
+		private final PackedArray denominators = new PackedArray(Long.SIZE);
+
+		@Override
+		protected boolean acceptsValue(Value value) {
+			if (value.getClass() != RealValue.class) {
+				return false;
+			}
+			RealValue rv = (RealValue) value;
+			return fitsLong(rv.value.getNumerator()) && fitsLong(rv.value.getDenominator());
+		}
+
+		@Override
+		protected Value read(int step) {
+			BigInteger num = BigInteger.valueOf(numerators.get(step));
+			BigInteger denom = BigInteger.valueOf(denominators.get(step));
+			return new RealValue(new BigFraction(num, denom));
+		}
+
+		@Override
+		protected void write(int step, Value value) {
+			RealValue rv = (RealValue) value;
+			numerators.set(step, rv.value.getNumerator().longValue());
+			denominators.set(step, rv.value.getDenominator().longValue());
+		}
+
+		@Override
+		protected long mapValues(FileChannel channel, long position) throws IOException {
+			position += numerators.map(channel, position);
+			return position + denominators.map(channel, position);
+		}
+	}
+
+	/**
+	 * Enumerated values are stored as indices into a dictionary, using a byte
+	 * per value until the dictionary outgrows it
+	 */
+	static class EnumColumn extends Column {
+		private final List<EnumValue> dictionary = new ArrayList<>();
+		private final Map<String, Integer> indices = new HashMap<>();
+		private PackedArray codes = new PackedArray(Byte.SIZE);
+
+		@Override
+		protected boolean acceptsValue(Value value) {
+			return value.getClass() == EnumValue.class;
+		}
+
+		@Override
+		protected Value read(int step) {
+			return dictionary.get((int) codes.get(step));
+		}
+
+		@Override
+		protected void write(int step, Value value) {
+			EnumValue ev = (EnumValue) value;
+			Integer index = indices.get(ev.value);
+			if (index == null) {
+				index = dictionary.size();
+				dictionary.add(ev);
+				indices.put(ev.value, index);
+				if (index >= 1L << codes.getWidth()) {
+					codes = codes.widen(2 * codes.getWidth(), size());
+				}
+			}
+			codes.set(step, index);
+		}
+
+		@Override
+		protected long mapValues(FileChannel channel, long position) throws IOException {
+			return position + codes.map(channel, position);
+		}
+	}
+
+	/**
+	 * Values of any kind on any step, stored as objects
+	 */
+	static class ValueColumn extends Column {
+		private final Map<Integer, Value> values = new HashMap<>();
+
+		@Override
+		boolean accepts(int step, Value value) {
+			return true;
+		}
+
+		@Override
+		protected boolean acceptsValue(Value value) {
+			return true;
+		}
+
+		@Override
+		void put(int step, Value value) {
+			values.put(step, value);
+		}
+
+		@Override
+		Value get(int step) {
+			return values.get(step);
+		}
+
+		@Override
+		Map<Integer, Value> asMap() {
+			return Collections.unmodifiableMap(values);
+		}
+
+		@Override
+		long map(FileChannel channel, long position) {
+			return position;
+		}
+
+		@Override
+		protected Value read(int step) {
+			return values.get(step);
+		}
+
+		@Override
+		protected void write(int step, Value value) {
+			values.put(step, value);
+		}
+
+		@Override
+		protected long mapValues(FileChannel channel, long position) {
+			return position;
+		}
+	}
+}
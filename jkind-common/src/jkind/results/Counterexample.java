@@ -1,6 +1,9 @@
 package jkind.results;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -9,6 +12,7 @@ import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import jkind.JKindException;
 import jkind.excel.ExcelCounterexampleFormatter;
 import jkind.lustre.values.BooleanValue;
 import jkind.lustre.values.EnumValue;
@@ -167,6 +171,41 @@ public final class Counterexample {
 		return signal.cast(klass);
 	}
 
+	/**
+	 * Move the values of the counterexample to a memory-mapped file so that
+	 * very long counterexamples do not need to fit in the heap. The
+	 * counterexample may still be modified afterwards.
+	 * 
+	 * @param file
+	 *            File to hold the values, which is overwritten
+	 * @throws jkind.JKindException
+	 */
+	public void spill(File file) {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			spill(channel);
+		} catch (IOException e) {
+			throw new JKindException("Unable to spill counterexample to " + file, e);
+		}
+	}
+
+	/**
+	 * Move the values of the counterexample to the end of a file opened for
+	 * reading and writing, so that one file can hold many counterexamples.
+	 * The mapping stays valid after the channel is closed and is released
+	 * once the counterexample is no longer reachable.
+	 * 
+	 * @param channel
+	 *            Channel of the file to hold the values
+	 * @throws IOException
+	 */
+	public void spill(FileChannel channel) throws IOException {
+		long position = channel.size();
+		for (Signal<Value> signal : signals.values()) {
+			position = signal.map(channel, position);
+		}
+	}
+
 	/**
 	 * Convert counterexample to an Excel spreadsheet
 	 * 
@@ -0,0 +1,82 @@
+package jkind.results;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * A growable array of unsigned values of a fixed bit width packed into longs.
+ * The storage can be moved to a memory-mapped file.
+ */
+final class PackedArray {
+	private final int width;
+	private final long mask;
+	private LongBuffer words = LongBuffer.allocate(1);
+
+	/**
+	 * @param width
+	 *            Bits per value, which must divide 64
+	 */
+	PackedArray(int width) {
+		this.width = width;
+		this.mask = width == Long.SIZE ? -1L : (1L << width) - 1;
+	}
+
+	int getWidth() {
+		return width;
+	}
+
+	long get(int index) {
+		long bit = (long) index * width;
+		int word = (int) (bit >>> 6);
+		if (word >= words.capacity()) {
+			return 0;
+		}
+		return (words.get(word) >>> (bit & 63)) & mask;
+	}
+
+	void set(int index, long value) {
+		long bit = (long) index * width;
+		int word = (int) (bit >>> 6);
+		ensureCapacity(word + 1);
+		int shift = (int) (bit & 63);
+		long old = words.get(word);
+		words.put(word, (old & ~(mask << shift)) | ((value & mask) << shift));
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > words.capacity()) {
+			// Also moves mapped storage back to the heap
+			LongBuffer grown = LongBuffer.allocate(Math.max(capacity, 2 * words.capacity()));
+			words.position(0);
+			grown.put(words);
+			words = grown;
+		}
+	}
+
+	/**
+	 * Copy the first size values into an array with wider values
+	 */
+	PackedArray widen(int newWidth, int size) {
+		PackedArray result = new PackedArray(newWidth);
+		for (int i = 0; i < size; i++) {
+			result.set(i, get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Move the storage to the given position of a file
+	 *
+	 * @return Number of bytes used in the file
+	 */
+	long map(FileChannel channel, long position) throws IOException {
+		long bytes = (long) words.capacity() * Long.BYTES;
+		LongBuffer mapped = channel.map(MapMode.READ_WRITE, position, bytes).asLongBuffer();
+		words.position(0);
+		mapped.put(words);
+		words = mapped;
+		return bytes;
+	}
+}
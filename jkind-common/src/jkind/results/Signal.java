@@ -1,21 +1,24 @@
 package jkind.results;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
 import jkind.JKindException;
 import jkind.lustre.values.Value;
 
 /**
- * A signal is a trace of values for a specific variable
+ * A signal is a trace of values for a specific variable. Values are stored in
+ * packed columns, so values read back are equal to but not necessarily the
+ * same objects as those put in.
  * 
  * @param <T>
  *            Type of value contained in the signal
  */
 public final class Signal<T extends Value> implements Comparable<Signal<T>> {
 	private final String name;
-	private final Map<Integer, T> values = new HashMap<>();
+	private Column column;
 
 	public Signal(String name) {
 		this.name = name;
@@ -29,7 +32,12 @@ public final class Signal<T extends Value> implements Comparable<Signal<T>> {
 	}
 
 	public void putValue(int step, T value) {
-		values.put(step, value);
+		if (column == null) {
+			column = Column.create(step, value);
+		} else if (!column.accepts(step, value)) {
+			column = column.toValueColumn();
+		}
+		column.put(step, value);
 	}
 
 	/**
@@ -40,15 +48,21 @@ public final class Signal<T extends Value> implements Comparable<Signal<T>> {
 	 * @return Value at the specified step or <code>null</code> if the signal
 	 *         does not have a value on that step
 	 */
+	@SuppressWarnings("unchecked")
 	public T getValue(int step) {
-		return values.get(step);
+		return column == null ? null : (T) column.get(step);
 	}
 
 	/**
-	 * Get a time step indexed map containing all values for the signal
+	 * Get a time step indexed map containing all values for the signal. The
+	 * map is a read-only view, so prefer getValue() for long signals.
 	 */
+	@SuppressWarnings("unchecked")
 	public Map<Integer, T> getValues() {
-		return Collections.unmodifiableMap(values);
+		if (column == null) {
+			return Collections.emptyMap();
+		}
+		return (Map<Integer, T>) column.asMap();
 	}
 
 	/**
@@ -56,10 +70,10 @@ public final class Signal<T extends Value> implements Comparable<Signal<T>> {
 	 */
 	public <S extends T> Signal<S> cast(Class<S> klass) {
 		Signal<S> castSignal = new Signal<>(name);
-		for (Integer step : values.keySet()) {
-			Value value = values.get(step);
+		for (Map.Entry<Integer, T> entry : getValues().entrySet()) {
+			Value value = entry.getValue();
 			if (klass.isInstance(value)) {
-				castSignal.putValue(step, klass.cast(value));
+				castSignal.putValue(entry.getKey(), klass.cast(value));
 			} else {
 				throw new JKindException("Cannot cast " + value.getClass().getSimpleName() + " to "
 						+ klass.getSimpleName());
@@ -70,10 +84,21 @@ public final class Signal<T extends Value> implements Comparable<Signal<T>> {
 	
 	public Signal<T> rename(String newName) {
 		Signal<T> copy = new Signal<>(newName);
-		copy.values.putAll(values);
+		for (Map.Entry<Integer, T> entry : getValues().entrySet()) {
+			copy.putValue(entry.getKey(), entry.getValue());
+		}
 		return copy;
 	}
 
+	/**
+	 * Move the values to the given position of a file
+	 * 
+	 * @return Position after the values in the file
+	 */
+	long map(FileChannel channel, long position) throws IOException {
+		return column == null ? position : column.map(channel, position);
+	}
+
 	@Override
 	public int compareTo(Signal<T> other) {
 		return name.compareTo(other.name);
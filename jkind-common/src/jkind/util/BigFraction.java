@@ -29,13 +29,29 @@ public class BigFraction implements Comparable<BigFraction> {
 			throw new ArithmeticException("Divide by zero");
 		}
 
-		BigInteger gcd = num.gcd(denom);
-		if (denom.compareTo(BigInteger.ZERO) > 0) {
-			this.num = num.divide(gcd);
-			this.denom = denom.divide(gcd);
+		if (denom.equals(BigInteger.ONE)) {
+			this.num = num;
+			this.denom = BigInteger.ONE;
+		} else if (isSmall(num) && isSmall(denom)) {
+			// Reduce small values without BigInteger.gcd, which allocates
+			long n = num.longValue();
+			long d = denom.longValue();
+			long gcd = gcd(Math.abs(n), Math.abs(d));
+			if (d < 0) {
+				n = -n;
+				d = -d;
+			}
+			this.num = BigInteger.valueOf(n / gcd);
+			this.denom = BigInteger.valueOf(d / gcd);
 		} else {
-			this.num = num.negate().divide(gcd);
-			this.denom = denom.negate().divide(gcd);
+			BigInteger gcd = num.gcd(denom);
+			if (denom.compareTo(BigInteger.ZERO) > 0) {
+				this.num = num.divide(gcd);
+				this.denom = denom.divide(gcd);
+			} else {
+				this.num = num.negate().divide(gcd);
+				this.denom = denom.negate().divide(gcd);
+			}
 		}
 	}
 
@@ -43,6 +59,26 @@ public class BigFraction implements Comparable<BigFraction> {
 		this(num, BigInteger.ONE);
 	}
 
+	/**
+	 * Small enough that negation and absolute value cannot overflow a long
+	 */
+	private static boolean isSmall(BigInteger value) {
+		return value.bitLength() < Long.SIZE - 1;
+	}
+
+	private static long gcd(long a, long b) {
+		while (b != 0) {
+			long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+	private boolean isInteger() {
+		return denom.equals(BigInteger.ONE);
+	}
+
 	public static BigFraction valueOf(BigDecimal value) {
 		if (value.scale() >= 0) {
 			return new BigFraction(value.unscaledValue(), BigInteger.valueOf(10).pow(value.scale()));
@@ -61,6 +97,9 @@ public class BigFraction implements Comparable<BigFraction> {
 	}
 
 	public BigFraction add(BigFraction val) {
+		if (isInteger() && val.isInteger()) {
+			return new BigFraction(num.add(val.num));
+		}
 		return new BigFraction(num.multiply(val.denom).add(val.num.multiply(denom)),
 				denom.multiply(val.denom));
 	}
@@ -70,6 +109,9 @@ public class BigFraction implements Comparable<BigFraction> {
 	}
 
 	public BigFraction subtract(BigFraction val) {
+		if (isInteger() && val.isInteger()) {
+			return new BigFraction(num.subtract(val.num));
+		}
 		return new BigFraction(num.multiply(val.denom).subtract(val.num.multiply(denom)),
 				denom.multiply(val.denom));
 	}
@@ -143,6 +185,9 @@ public class BigFraction implements Comparable<BigFraction> {
 
 	@Override
 	public int compareTo(BigFraction other) {
+		if (denom.equals(other.denom)) {
+			return num.compareTo(other.num);
+		}
 		return num.multiply(other.denom).compareTo(other.num.multiply(denom));
 	}
 
@@ -1,5 +1,7 @@
 package jkind;
 
+import java.util.function.BooleanSupplier;
+
 import jkind.analysis.LinearChecker;
 import jkind.analysis.StaticAnalyzer;
 import jkind.engines.Director; 
@@ -11,6 +13,9 @@ import jkind.lustre.builders.ProgramBuilder;
 import jkind.translation.InlineSimpleEquations;
 import jkind.translation.Specification;
 import jkind.translation.Translate; 
+import jkind.translation.TranslationTimer;
+import jkind.translation.TranslationTimer.Timing;
+import jkind.writers.Writer;
 
 public class JKind {
 	public static final String EQUATION_NAME = "__addedEQforAsr_by_JKind__"; 
@@ -21,24 +26,21 @@ public class JKind {
 			program = setMainNode(program, settings.main);
 
 			StaticAnalyzer.check(program, settings.solver);
-			if (!LinearChecker.isLinear(program)) {
-				if (settings.pdrMax > 0) {
-					StdErr.warning("PDR not available for some properties due to non-linearities");
-				}
-			}
+			warnIfNonlinear(program, settings);
 
 			ensureSolverAvailable(settings.solver);
 
-			program = Translate.translate(program);
-			Node main = program.getMainNode();
-			if(settings.allAssigned){
-				program = IvcUtil.setIvcArgs(main, IvcUtil.getAllAssigned(main));
-			} 
-			Specification userSpec = new Specification(program, settings.slicing); 
-
+			Specification userSpec = getUserSpec(program, settings);
 			Specification analysisSpec = getAnalysisSpec(userSpec, settings);
 			
-			new Director(settings, userSpec, analysisSpec).run();
+			Director director;
+			try {
+				director = new Director(settings, userSpec, analysisSpec);
+			} catch (JKindException e) {
+				StdErr.fatal(ExitCodes.INVALID_OPTIONS, e.getMessage());
+				return;
+			}
+			director.run();
 			System.exit(0); // Kills all threads
 		} catch (Throwable t) {
 			t.printStackTrace();
@@ -46,6 +48,55 @@ public class JKind {
 		}
 	}
 
+	/**
+	 * Analyze a program within the current JVM, sending results to the given
+	 * writer. Unlike main(), problems with the program or settings are thrown
+	 * as a JKindException rather than exiting. The analysis stops early once
+	 * canceled returns true.
+	 */
+	public static void run(JKindSettings settings, Program program, Writer writer, BooleanSupplier canceled) {
+		if (settings.main != null && program.nodes.stream().noneMatch(n -> n.id.equals(settings.main))) {
+			throw new JKindException("Unable to find main node '" + settings.main + "'");
+		}
+		program = setMainNode(program, settings.main);
+
+		StaticAnalyzer.validate(program, settings.solver);
+		warnIfNonlinear(program, settings);
+
+		SolverUtil.checkAvailable(settings.solver);
+		JKindArgumentParser.validate(settings);
+
+		Specification userSpec = getUserSpec(program, settings);
+		Specification analysisSpec = getAnalysisSpec(userSpec, settings);
+		int code = new Director(settings, userSpec, analysisSpec, writer, canceled).run();
+		if (code != 0) {
+			throw new JKindException("Abnormal termination, exit code " + code);
+		}
+	}
+
+	private static void warnIfNonlinear(Program program, JKindSettings settings) {
+		if (!LinearChecker.isLinear(program)) {
+			if (settings.pdrMax > 0) {
+				StdErr.warning("PDR not available for some properties due to non-linearities");
+			}
+		}
+	}
+
+	private static Specification getUserSpec(Program program, JKindSettings settings) {
+		TranslationTimer timer = new TranslationTimer();
+		program = Translate.translate(program, timer);
+		if (settings.translationTiming) {
+			for (Timing timing : timer.getTimings()) {
+				StdErr.println("Translation pass " + timing);
+			}
+		}
+		Node main = program.getMainNode();
+		if (settings.allAssigned) {
+			program = IvcUtil.setIvcArgs(main, IvcUtil.getAllAssigned(main));
+		}
+		return new Specification(program, settings.slicing);
+	}
+
 	private static Program setMainNode(Program program, String main) {
 		if (main == null) {
 			return program;
@@ -61,7 +112,7 @@ public class JKind {
 
 	private static void ensureSolverAvailable(SolverOption solver) {
 		try {
-			SolverUtil.getBasicSolver(solver);
+			SolverUtil.checkAvailable(solver);
 		} catch (JKindException e) {
 			StdErr.fatal(ExitCodes.INVALID_OPTIONS, e.getMessage());
 		}
@@ -2,6 +2,7 @@ package jkind;
 
 import static java.util.stream.Collectors.joining;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List; 
 import jkind.engines.SolverUtil;   
@@ -11,25 +12,38 @@ import org.apache.commons.cli.Options;
 public class JKindArgumentParser extends ArgumentParser {
 	private static final String EXCEL = "excel";
 	private static final String INDUCT_CEX = "induct_cex";
+	private static final String INCREMENTAL_INDUCTION = "incremental_induction";
 	private static final String MAIN = "main";
+	private static final String METRICS_PORT = "metrics_port";
 	private static final String N = "n";
 	private static final String NO_BMC = "no_bmc";
 	private static final String NO_INV_GEN = "no_inv_gen";
 	private static final String NO_K_INDUCTION = "no_k_induction"; 
 	private static final String PDR_MAX = "pdr_max";
+	private static final String PDR_SHARE_LEMMAS = "pdr_share_lemmas";
+	private static final String PORTFOLIO = "portfolio";
+	private static final String PROOF_CACHE = "proof_cache";
 	private static final String READ_ADVICE = "read_advice"; 
 	private static final String IVC = "ivc";
 	private static final String IVC_ALL = "all_ivcs";
+	private static final String IVC_ALL_WORKERS = "all_ivcs_workers";
 	private static final String NO_SLICING = "no_slicing"; 
 	private static final String SCRATCH = "scratch";
+	private static final String SHARDS = "shards";
+	private static final String SIMULATE = "simulate";
 	private static final String SMOOTH = "smooth";
 	private static final String SOLVER = "solver";
+	private static final String SOLVER_POOL = "solver_pool";
+	private static final String TELEMETRY = "telemetry";
 	private static final String TIMEOUT = "timeout";
+	private static final String TRANSLATION_TIMING = "translation_timing";
 	private static final String WRITE_ADVICE = "write_advice";
 	private static final String XML = "xml";
 	private static final String XML_TO_STDOUT = "xml_to_stdout";
 	private static final String ALL_ASSIGNED = "all_assigned"; 
 	private static final String JSUPPORT_USE_UNSAT_CORE = "use_unsat_core";
+	private static final String JSUPPORT_THREADS = "ivc_threads";
+	private static final String JSUPPORT_DIVIDE_AND_CONQUER = "ivc_divide_and_conquer";
 
 	private final JKindSettings settings;
 
@@ -47,28 +61,53 @@ public class JKindArgumentParser extends ArgumentParser {
 		Options options = super.getOptions();
 		options.addOption(EXCEL, false, "generate results in Excel format");
 		options.addOption(INDUCT_CEX, false, "generate inductive counterexamples");
+		options.addOption(INCREMENTAL_INDUCTION, false,
+				"guard k-induction hypotheses with activation literals instead of rebuilding them");
 		options.addOption(IVC, false,
 				"find an inductive validity core for valid properties (based on --%IVC annotated elements)"); 
 		options.addOption(IVC_ALL, false,
 				"find all inductive validity cores for valid properties (based on --%IVC annotated elements)");
+		options.addOption(IVC_ALL_WORKERS, true,
+				"number of candidate sets checked in parallel when finding all inductive validity cores (default: 1)");
 		options.addOption(ALL_ASSIGNED, false, "mark all equations as --%IVC elements"); 
 		options.addOption(MAIN, true, "specify main node (overrides --%MAIN)");
+		options.addOption(METRICS_PORT, true,
+				"serve progress metrics at http://localhost:<port>/metrics while running");
 		options.addOption(N, true, "maximum depth for bmc and k-induction (default: unbounded)");
 		options.addOption(NO_BMC, false, "disable bounded model checking");
 		options.addOption(NO_INV_GEN, false, "disable invariant generation");
 		options.addOption(NO_K_INDUCTION, false, "disable k-induction");
 		options.addOption(NO_SLICING, false, "disable slicing");
 		options.addOption(PDR_MAX, true, "maximum number of PDR parallel instances (0 to disable PDR)");
+		options.addOption(PDR_SHARE_LEMMAS, false,
+				"share lemmas learned by PDR for one property with PDR instances for other properties");
+		options.addOption(PORTFOLIO, true,
+				"comma separated SMT solvers to race in bmc, k-induction, and invariant generation");
+		options.addOption(PROOF_CACHE, true,
+				"reuse answers of properties whose cone of influence is unchanged, stored in the specified directory");
 		options.addOption(READ_ADVICE, true, "read advice from specified file");
 		options.addOption(SCRATCH, false, "produce files for debugging purposes");
+		options.addOption(SHARDS, true,
+				"split properties by cone of influence between this many parallel bmc and k-induction engines");
+		options.addOption(SIMULATE, true,
+				"number of random traces used to discard invariant candidates before using the solver");
 		options.addOption(SMOOTH, false, "smooth counterexamples (minimal changes in input values)");
 		options.addOption(SOLVER, true,
 				"SMT solver (default: smtinterpol, alternatives: z3, yices, yices2, cvc4, mathsat)");
+		options.addOption(SOLVER_POOL, false,
+				"reuse solver processes across engines and IVC runs (not with smtinterpol or yices)");
+		options.addOption(TELEMETRY, false,
+				"record solver operations and latencies per engine (in the XML output and <file>.telemetry.json)");
 		options.addOption(TIMEOUT, true, "maximum runtime in seconds (default: unbounded)");
+		options.addOption(TRANSLATION_TIMING, false, "print the time and allocation of each translation pass");
 		options.addOption(WRITE_ADVICE, true, "write advice to specified file");
 		options.addOption(XML, false, "generate results in XML format");
 		options.addOption(XML_TO_STDOUT, false, "generate results in XML format on stardard out");
 		options.addOption(JSUPPORT_USE_UNSAT_CORE, true, "make JSupport use an initial IVC as input");
+		options.addOption(JSUPPORT_THREADS, true,
+				"number of candidates JSupport checks in parallel while minimizing the IVC (default: 1)");
+		options.addOption(JSUPPORT_DIVIDE_AND_CONQUER, false,
+				"make JSupport minimize the IVC by removing whole chunks of candidates at once");
 		return options;
 	}
 
@@ -101,10 +140,18 @@ public class JKindArgumentParser extends ArgumentParser {
 			settings.inductiveCounterexamples = true;
 		}
 
+		if (line.hasOption(INCREMENTAL_INDUCTION)) {
+			settings.incrementalInduction = true;
+		}
+
 		if (line.hasOption(MAIN)) {
 			settings.main = line.getOptionValue(MAIN);
 		}
 
+		if (line.hasOption(METRICS_PORT)) {
+			settings.metricsPort = parseNonnegativeInt(line.getOptionValue(METRICS_PORT));
+		}
+
 		if (line.hasOption(NO_BMC)) {
 			settings.boundedModelChecking = false;
 		}
@@ -139,6 +186,26 @@ public class JKindArgumentParser extends ArgumentParser {
 			settings.pdrMax = Math.max(1, heuristic);
 		}
 
+		if (line.hasOption(PDR_SHARE_LEMMAS)) {
+			settings.pdrShareLemmas = true;
+		}
+
+		if (line.hasOption(PORTFOLIO)) {
+			settings.portfolio = getSolverOptions(line.getOptionValue(PORTFOLIO));
+		}
+
+		if (line.hasOption(SHARDS)) {
+			settings.shards = Math.max(1, parseNonnegativeInt(line.getOptionValue(SHARDS)));
+		}
+
+		if (line.hasOption(SIMULATE)) {
+			settings.simulationTraces = parseNonnegativeInt(line.getOptionValue(SIMULATE));
+		}
+
+		if (line.hasOption(PROOF_CACHE)) {
+			settings.proofCache = line.getOptionValue(PROOF_CACHE);
+		}
+
 		if (line.hasOption(READ_ADVICE)) {
 			settings.readAdvice = line.getOptionValue(READ_ADVICE);
 		} 
@@ -151,6 +218,10 @@ public class JKindArgumentParser extends ArgumentParser {
 			settings.reduceIvc = true;
 			settings.allIvcs = true;
 		}
+
+		if (line.hasOption(IVC_ALL_WORKERS)) {
+			settings.allIvcsWorkers = Math.max(1, parseNonnegativeInt(line.getOptionValue(IVC_ALL_WORKERS)));
+		}
 		
 		if (line.hasOption(ALL_ASSIGNED)){
 			if (line.hasOption(IVC) || line.hasOption(IVC_ALL)) {
@@ -174,6 +245,18 @@ public class JKindArgumentParser extends ArgumentParser {
 			settings.solver = getSolverOption(line.getOptionValue(SOLVER));
 		}
 
+		if (line.hasOption(SOLVER_POOL)) {
+			settings.solverPool = true;
+		}
+
+		if (line.hasOption(TELEMETRY)) {
+			settings.telemetry = true;
+		}
+
+		if (line.hasOption(TRANSLATION_TIMING)) {
+			settings.translationTiming = true;
+		}
+
 		if (line.hasOption(WRITE_ADVICE)) {
 			settings.writeAdvice = line.getOptionValue(WRITE_ADVICE);
 		}
@@ -190,6 +273,25 @@ public class JKindArgumentParser extends ArgumentParser {
 		if (line.hasOption(JSUPPORT_USE_UNSAT_CORE)) {
 			settings.useUnsatCore = line.getOptionValue(JSUPPORT_USE_UNSAT_CORE);
 		}
+
+		if (line.hasOption(JSUPPORT_THREADS)) {
+			settings.ivcThreads = Math.max(1, parseNonnegativeInt(line.getOptionValue(JSUPPORT_THREADS)));
+		}
+
+		if (line.hasOption(JSUPPORT_DIVIDE_AND_CONQUER)) {
+			settings.ivcDivideAndConquer = true;
+		}
+	}
+
+	private static List<SolverOption> getSolverOptions(String solvers) {
+		List<SolverOption> result = new ArrayList<>();
+		for (String solver : solvers.split(",")) {
+			SolverOption option = getSolverOption(solver.trim());
+			if (!result.contains(option)) {
+				result.add(option);
+			}
+		}
+		return result;
 	}
 
 	private static SolverOption getSolverOption(String solver) {
@@ -227,20 +329,45 @@ public class JKindArgumentParser extends ArgumentParser {
 			}
 		}
 
-		if (settings.smoothCounterexamples) {
-			if (settings.solver != SolverOption.YICES && settings.solver != SolverOption.Z3) {
-				StdErr.fatal(ExitCodes.INVALID_OPTIONS, "smoothing not supported with " + settings.solver);
-			}
+		if (settings.ivcDivideAndConquer && settings.ivcThreads > 1) {
+			StdErr.warning("-ivc_threads has no effect with -ivc_divide_and_conquer");
 		}
 
-		if (!settings.boundedModelChecking && !settings.kInduction && !settings.invariantGeneration
-				&& settings.pdrMax == 0 && settings.readAdvice == null) {
-			StdErr.fatal(ExitCodes.INVALID_OPTIONS, "all proving engines disabled");
+		try {
+			validate(settings);
+		} catch (JKindException e) {
+			StdErr.fatal(ExitCodes.INVALID_OPTIONS, e.getMessage());
 		}
 
 		if (!settings.boundedModelChecking && settings.kInduction) {
 			StdErr.warning("k-induction requires bmc");
 		}
+
+		if (settings.proofCache != null && (settings.reduceIvc || settings.smoothCounterexamples)) {
+			// Cached answers carry neither inductive validity cores nor smoothing
+			StdErr.warning("proof cache not used with inductive validity cores or smoothing");
+			settings.proofCache = null;
+		}
+	}
+
+	/**
+	 * Reject combinations of settings which cannot be analyzed, shared by the
+	 * command line and in-process runs
+	 */
+	public static void validate(JKindSettings settings) {
+		if (settings.smoothCounterexamples && settings.solver != SolverOption.YICES
+				&& settings.solver != SolverOption.Z3) {
+			throw new JKindException("smoothing not supported with " + settings.solver);
+		}
+
+		if (!settings.boundedModelChecking && !settings.kInduction && !settings.invariantGeneration
+				&& settings.pdrMax == 0 && settings.readAdvice == null) {
+			throw new JKindException("all proving engines disabled");
+		}
+
+		if (settings.shards > 1 && settings.portfolio != null) {
+			throw new JKindException("cannot use -shards together with -portfolio");
+		}
 	}
 
 	private void printDectectedSolvers() {
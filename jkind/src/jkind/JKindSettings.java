@@ -1,5 +1,6 @@
 package jkind;
 
+import java.util.List;
 
 public class JKindSettings extends Settings {
 	public int n = Integer.MAX_VALUE;
@@ -16,20 +17,34 @@ public class JKindSettings extends Settings {
 	public boolean invariantGeneration = true;
    	public int pdrMax = 1;
 	public boolean inductiveCounterexamples = false;
+	public int simulationTraces = 0;
+	public boolean incrementalInduction = false;
 	public boolean reduceIvc = false;
 	public boolean allIvcs = false;
+	public int allIvcsWorkers = 1;
 	public boolean smoothCounterexamples = false;
 	public boolean inlining = true;
 	public boolean slicing = true;
 	public SolverOption solver = SolverOption.SMTINTERPOL;
+	public List<SolverOption> portfolio = null;
+	public int shards = 1;
 	public boolean scratch = false;
+	public boolean solverPool = false;
+	public boolean pdrShareLemmas = false;
+	public boolean telemetry = false;
+	public boolean translationTiming = false;
+	public int metricsPort = 0;
+	public String proofCache = null;
 	public String writeAdvice = null;
 	public String readAdvice = null; 
 	public boolean allAssigned = false; 
 	public String useUnsatCore = null;
+	public int ivcThreads = 1;
+	public boolean ivcDivideAndConquer = false;
 	
 	public JKindSettings() { }
 	public JKindSettings(JKindSettings settings) {
+		this.filename = settings.filename;
 		this.n = settings.n;
 		this.timeout = settings.timeout;
 		
@@ -44,17 +59,30 @@ public class JKindSettings extends Settings {
 		this.invariantGeneration = settings.invariantGeneration;
 	   	this.pdrMax = settings.pdrMax;
 		this.inductiveCounterexamples = settings.inductiveCounterexamples;
+		this.simulationTraces = settings.simulationTraces;
+		this.incrementalInduction = settings.incrementalInduction;
 		this.reduceIvc = settings.reduceIvc;
 		this.allIvcs = settings.allIvcs;
+		this.allIvcsWorkers = settings.allIvcsWorkers;
 		this.smoothCounterexamples = settings.smoothCounterexamples;
 		this.inlining = settings.inlining;
 		this.slicing = settings.slicing;
 		this.solver = settings.solver;
+		this.portfolio = settings.portfolio;
+		this.shards = settings.shards;
 		this.scratch = settings.scratch;
+		this.solverPool = settings.solverPool;
+		this.pdrShareLemmas = settings.pdrShareLemmas;
+		this.telemetry = settings.telemetry;
+		this.translationTiming = settings.translationTiming;
+		this.metricsPort = settings.metricsPort;
+		this.proofCache = settings.proofCache;
 		this.writeAdvice = settings.writeAdvice;
 		this.readAdvice = settings.readAdvice; 
 		this.allAssigned = settings.allAssigned; 
 		this.useUnsatCore = settings.useUnsatCore;
+		this.ivcThreads = settings.ivcThreads;
+		this.ivcDivideAndConquer = settings.ivcDivideAndConquer;
 		
 	}
 }
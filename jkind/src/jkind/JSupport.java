@@ -11,6 +11,7 @@ import jkind.analysis.LinearChecker;
 import jkind.analysis.StaticAnalyzer;
 import jkind.engines.ivcs.IvcUtil;
 import jkind.engines.ivcs.MinimalIvcFinder; 
+import jkind.engines.ivcs.MinimalIvcFinder.Check;
 import jkind.lustre.Node;
 import jkind.lustre.Program; 
 import jkind.lustre.builders.NodeBuilder;
@@ -54,9 +55,19 @@ public class JSupport {
 			}
 			
 			inputIVC = getIVC(settings.useUnsatCore);
-			MinimalIvcFinder minimalFinder = new MinimalIvcFinder(new Program(IvcUtil.overApproximateWithIvc(main, inputIVC, main.properties.get(0))),
-					settings.filename);
-			minimalFinder.minimizeIvc(inputIVC, new HashSet<>(), TIMEOUT);
+			String property = main.properties.get(0);
+			try (MinimalIvcFinder minimalFinder = new MinimalIvcFinder(
+					new Program(IvcUtil.overApproximateWithIvc(main, inputIVC, property)), property)) {
+				minimalFinder.setThreads(settings.ivcThreads);
+				minimalFinder.setSolver(settings.solver, settings.solverPool);
+				Set<String> minimal;
+				if (settings.ivcDivideAndConquer) {
+					minimal = minimalFinder.minimizeIvcDivideAndConquer(inputIVC, new HashSet<>(), TIMEOUT);
+				} else {
+					minimal = minimalFinder.minimizeIvc(inputIVC, new HashSet<>(), TIMEOUT);
+				}
+				printResult(minimal, minimalFinder.getChecks());
+			}
 			System.exit(0);
 		 	
 			}catch (Throwable t) {
@@ -65,6 +76,15 @@ public class JSupport {
 			}
 	}
 	
+	private static void printResult(Set<String> minimal, List<Check> checks) {
+		System.out.println("MINIMAL IVC: " + minimal);
+		System.out.println();
+		System.out.println("CHECKS (seconds, status, removed candidates):");
+		for (Check check : checks) {
+			System.out.println(String.format("%9.3f %-8s %s", check.runtime, check.status, check.removed));
+		}
+	}
+	
 	private static Set<String> getIVC(String file){  
 		List<String> support = null;
 		try{
@@ -55,7 +55,8 @@ public class StdErr {
 	}
 
 	public static void showLocation(Location loc) {
-		if (1 <= loc.line && loc.line <= locationReference.size()) {
+		// There is no source text for programs built in memory
+		if (locationReference != null && 1 <= loc.line && loc.line <= locationReference.size()) {
 			String line = locationReference.get(loc.line - 1);
 			StdErr.println(line);
 			StdErr.println(Util.spaces(loc.charPositionInLine) + "^");
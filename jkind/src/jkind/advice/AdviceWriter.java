@@ -9,9 +9,7 @@ import java.io.Writer;
 import java.util.List;
 import java.util.zip.GZIPOutputStream;
 
-import jkind.ExitCodes;
 import jkind.JKindException;
-import jkind.StdErr;
 import jkind.lustre.Expr;
 import jkind.lustre.VarDecl;
 
@@ -24,8 +22,7 @@ public class AdviceWriter {
 			OutputStream stream = new GZIPOutputStream(new FileOutputStream(outputFilename));
 			this.out = new BufferedWriter(new OutputStreamWriter(stream));
 		} catch (IOException e) {
-			StdErr.fatal(ExitCodes.INVALID_OPTIONS,
-					"unable to open advice file for writing: " + e.getMessage());
+			throw new JKindException("unable to open advice file for writing: " + e.getMessage(), e);
 		}
 	}
 
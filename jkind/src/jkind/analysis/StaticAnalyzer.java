@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Set;
 
 import jkind.ExitCodes;
+import jkind.JKindException;
 import jkind.SolverOption;
 import jkind.StdErr;
 import jkind.analysis.evaluation.DivisionChecker;
@@ -26,12 +27,30 @@ import jkind.util.Util;
 
 public class StaticAnalyzer {
 	public static void check(Program program, SolverOption solver) {
-		checkErrors(program, solver);
-		checkSolverLimitations(program, solver);
+		if (!checkErrors(program, solver)) {
+			System.exit(ExitCodes.STATIC_ANALYSIS_ERROR);
+		}
+		if (!checkSolverLimitations(program, solver)) {
+			System.exit(ExitCodes.UNSUPPORTED_FEATURE);
+		}
 		checkWarnings(program, solver);
 	}
 
-	private static void checkErrors(Program program, SolverOption solver) {
+	/**
+	 * Same as check(), but throws an exception instead of exiting when the
+	 * program has errors. The errors themselves are still printed to stderr.
+	 */
+	public static void validate(Program program, SolverOption solver) {
+		if (!checkErrors(program, solver)) {
+			throw new JKindException("Static analysis of the Lustre program failed");
+		}
+		if (!checkSolverLimitations(program, solver)) {
+			throw new JKindException("The Lustre program uses features not supported by " + solver);
+		}
+		checkWarnings(program, solver);
+	}
+
+	private static boolean checkErrors(Program program, SolverOption solver) {
 		boolean valid = true;
 		valid = valid && hasMainNode(program);
 		valid = valid && typesUnique(program);
@@ -59,17 +78,14 @@ public class StaticAnalyzer {
 			valid = valid && LinearChecker.check(program, Level.ERROR);
 		}
 
-		if (!valid) {
-			System.exit(ExitCodes.STATIC_ANALYSIS_ERROR);
-		}
+		return valid;
 	}
 
-	private static void checkSolverLimitations(Program program, SolverOption solver) {
+	private static boolean checkSolverLimitations(Program program, SolverOption solver) {
 		if (solver == SolverOption.MATHSAT) {
-			if (!MathSatFeatureChecker.check(program)) {
-				System.exit(ExitCodes.UNSUPPORTED_FEATURE);
-			}
+			return MathSatFeatureChecker.check(program);
 		}
+		return true;
 	}
 
 	private static void checkWarnings(Program program, SolverOption solver) {
@@ -0,0 +1,29 @@
+package jkind.cache;
+
+import jkind.results.Counterexample;
+
+public class CachedResult {
+	public static final String VALID = "valid";
+	public static final String INVALID = "invalid";
+
+	public final String property;
+	public final String answer;
+	public final String source;
+	public final int k;
+	public final double runtime;
+	public final Counterexample counterexample;
+
+	public CachedResult(String property, String answer, String source, int k, double runtime,
+			Counterexample counterexample) {
+		this.property = property;
+		this.answer = answer;
+		this.source = source;
+		this.k = k;
+		this.runtime = runtime;
+		this.counterexample = counterexample;
+	}
+
+	public boolean isValid() {
+		return answer.equals(VALID);
+	}
+}
@@ -0,0 +1,332 @@
+package jkind.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import jkind.JKindException;
+import jkind.StdErr;
+import jkind.advice.Advice;
+import jkind.advice.AdviceEncoder;
+import jkind.lustre.EnumType;
+import jkind.lustre.Expr;
+import jkind.lustre.Function;
+import jkind.lustre.Node;
+import jkind.lustre.Type;
+import jkind.lustre.VarDecl;
+import jkind.lustre.values.EnumValue;
+import jkind.lustre.values.Value;
+import jkind.results.Counterexample;
+import jkind.results.Signal;
+import jkind.slicing.Dependency;
+import jkind.slicing.DependencyVisitor;
+import jkind.translation.Specification;
+import jkind.util.Util;
+
+/**
+ * A directory of previous answers, see JKindSettings.proofCache. Each answer is
+ * stored under a hash of the property's cone of influence, so it is reused
+ * exactly when nothing the property depends on has changed. An index per
+ * model, stored under a hash of the main node name, records the latest valid
+ * entry of each of its properties.
+ */
+public class ProofCache {
+	public static final String SOURCE = "cache";
+	private static final String EXTENSION = ".proof";
+	private static final String INDEX_EXTENSION = ".index";
+
+	private final File directory;
+	private final Specification userSpec;
+	private final Map<String, String> keys = new TreeMap<>();
+	private Properties index;
+
+	private int lookups = 0;
+	private int hits = 0;
+	private double savedSeconds = 0;
+
+	public ProofCache(String directory, Specification userSpec) {
+		this.directory = new File(directory);
+		this.userSpec = userSpec;
+		if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new JKindException("Unable to create proof cache directory " + directory);
+		}
+	}
+
+	/**
+	 * Hash of a property and the equations, assertions, and functions it
+	 * depends on. Declarations and equations are sorted so that reordering the
+	 * source does not change the key.
+	 */
+	public String getKey(String property) {
+		return keys.computeIfAbsent(property, this::computeKey);
+	}
+
+	private String computeKey(String property) {
+		Node cone = new Specification(userSpec, Collections.singletonList(property)).node;
+
+		List<String> lines = new ArrayList<>();
+		for (VarDecl vd : Util.getVarDecls(cone)) {
+			lines.add("var " + vd);
+		}
+		cone.equations.forEach(eq -> lines.add("eq " + eq));
+		cone.assertions.forEach(as -> lines.add("assert " + as));
+		for (Function function : userSpec.functions) {
+			lines.add("function " + function);
+		}
+		Collections.sort(lines);
+		lines.add(0, "property " + property);
+		return hash(lines, property);
+	}
+
+	private static String hash(List<String> lines, String name) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (String line : lines) {
+				digest.update(line.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) '\n');
+			}
+			StringBuilder hex = new StringBuilder();
+			for (byte b : digest.digest()) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new JKindException("Unable to hash " + name, e);
+		}
+	}
+
+	public CachedResult lookup(String property) {
+		lookups++;
+		File file = getFile(getKey(property));
+		if (!file.isFile()) {
+			return null;
+		}
+
+		try {
+			CachedResult result = read(file);
+			if (result == null || !result.property.equals(property)) {
+				return null;
+			}
+			hits++;
+			savedSeconds = Math.max(savedSeconds, result.runtime);
+			return result;
+		} catch (Exception e) {
+			StdErr.warning("ignoring unreadable proof cache entry " + file + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	public void storeValid(String property, String source, int k, double runtime, List<Expr> invariants,
+			List<VarDecl> varDecls) {
+		Properties entry = createEntry(property, CachedResult.VALID, source, k, runtime);
+
+		Advice advice = new Advice();
+		advice.addVarDecls(getUsedVarDecls(invariants, varDecls));
+		advice.addInvariants(invariants);
+		entry.setProperty("invariants", AdviceEncoder.encode(advice));
+		write(property, entry);
+
+		getIndex().setProperty(property, getKey(property));
+		write(getIndexFile(), getIndex());
+	}
+
+	private List<VarDecl> getUsedVarDecls(List<Expr> invariants, List<VarDecl> varDecls) {
+		List<String> used = new ArrayList<>();
+		for (Expr invariant : invariants) {
+			for (Dependency dependency : DependencyVisitor.get(invariant)) {
+				used.add(dependency.name);
+			}
+		}
+
+		List<VarDecl> result = new ArrayList<>();
+		for (VarDecl vd : varDecls) {
+			if (used.contains(vd.id)) {
+				result.add(vd);
+			}
+		}
+		return result;
+	}
+
+	public void storeInvalid(String property, String source, double runtime, Counterexample cex) {
+		if (!cex.getFunctionTables().isEmpty()) {
+			// Function tables are not stored, so the answer would be incomplete
+			return;
+		}
+
+		Properties entry = createEntry(property, CachedResult.INVALID, source, cex.getLength(), runtime);
+		for (Signal<Value> signal : cex.getSignals()) {
+			StringBuilder values = new StringBuilder();
+			for (Map.Entry<Integer, Value> value : signal.getValues().entrySet()) {
+				values.append(value.getKey() + ":" + value.getValue() + " ");
+			}
+			entry.setProperty("signal." + signal.getName(), values.toString().trim());
+		}
+		write(property, entry);
+	}
+
+	private Properties createEntry(String property, String answer, String source, int k, double runtime) {
+		Properties entry = new Properties();
+		entry.setProperty("property", property);
+		entry.setProperty("answer", answer);
+		entry.setProperty("source", source);
+		entry.setProperty("k", Integer.toString(k));
+		entry.setProperty("runtime", Double.toString(runtime));
+		return entry;
+	}
+
+	/**
+	 * Invariants which last proved the given properties, in any version of the
+	 * model. They are only candidates and must be proven again. Only the
+	 * entries listed in the index of this model are read.
+	 */
+	public Advice getInvariants(List<String> properties) {
+		Advice advice = new Advice();
+		for (String property : properties) {
+			String key = getIndex().getProperty(property);
+			if (key == null) {
+				continue;
+			}
+
+			try {
+				Properties entry = load(getFile(key));
+				String encoded = entry.getProperty("invariants");
+				if (encoded != null && property.equals(entry.getProperty("property"))) {
+					Advice cached = decode(encoded);
+					advice.addVarDecls(cached.getVarDecls());
+					advice.addInvariants(cached.getInvariants());
+				}
+			} catch (Exception e) {
+				// Unreadable entries are reported when looked up
+			}
+		}
+		return advice;
+	}
+
+	public int getLookups() {
+		return lookups;
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * The longest time it originally took to answer one of the properties found
+	 * in the cache, which is a lower bound on the time saved
+	 */
+	public double getSavedSeconds() {
+		return savedSeconds;
+	}
+
+	private File getFile(String key) {
+		return new File(directory, key + EXTENSION);
+	}
+
+	private File getIndexFile() {
+		String key = hash(Collections.singletonList("model " + userSpec.node.id), userSpec.node.id);
+		return new File(directory, key + INDEX_EXTENSION);
+	}
+
+	private Properties getIndex() {
+		if (index == null) {
+			index = new Properties();
+			File file = getIndexFile();
+			if (file.isFile()) {
+				try {
+					index = load(file);
+				} catch (IOException e) {
+					StdErr.warning("ignoring unreadable proof cache index " + file + ": " + e.getMessage());
+				}
+			}
+		}
+		return index;
+	}
+
+	private void write(String property, Properties entry) {
+		write(getFile(getKey(property)), entry);
+	}
+
+	private void write(File file, Properties entry) {
+		try {
+			// Write then rename, so concurrent runs never see partial entries
+			File temp = File.createTempFile(file.getName(), ".tmp", directory);
+			try (OutputStream out = new FileOutputStream(temp)) {
+				entry.store(out, null);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			StdErr.warning("unable to write proof cache entry " + file + ": " + e.getMessage());
+		}
+	}
+
+	private static Properties load(File file) throws IOException {
+		Properties entry = new Properties();
+		try (InputStream in = new FileInputStream(file)) {
+			entry.load(in);
+		}
+		return entry;
+	}
+
+	private static Advice decode(String encoded) throws Exception {
+		return AdviceEncoder.decode(new ByteArrayInputStream(encoded.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private CachedResult read(File file) throws Exception {
+		Properties entry = load(file);
+		String property = entry.getProperty("property");
+		String answer = entry.getProperty("answer");
+		String source = entry.getProperty("source");
+		int k = Integer.parseInt(entry.getProperty("k"));
+		double runtime = Double.parseDouble(entry.getProperty("runtime"));
+
+		if (answer.equals(CachedResult.VALID)) {
+			return new CachedResult(property, answer, source, k, runtime, null);
+		}
+
+		Counterexample cex = new Counterexample(k);
+		for (String key : entry.stringPropertyNames()) {
+			if (!key.startsWith("signal.")) {
+				continue;
+			}
+
+			String name = key.substring("signal.".length());
+			Type type = userSpec.typeMap.get(name);
+			if (type == null) {
+				return null;
+			}
+
+			Signal<Value> signal = cex.getOrCreateSignal(name);
+			for (String value : entry.getProperty(key).split(" ")) {
+				if (!value.isEmpty()) {
+					int colon = value.indexOf(':');
+					int step = Integer.parseInt(value.substring(0, colon));
+					signal.putValue(step, parseValue(type, value.substring(colon + 1)));
+				}
+			}
+		}
+		return new CachedResult(property, answer, source, k, runtime, cex);
+	}
+
+	private static Value parseValue(Type type, String value) {
+		if (type instanceof EnumType) {
+			return new EnumValue(value);
+		}
+		return Util.parseValue(Util.getName(type), value);
+	}
+}
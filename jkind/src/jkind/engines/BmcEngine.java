@@ -3,11 +3,13 @@ package jkind.engines;
 import java.util.ArrayList;
 import java.util.List; 
 import jkind.JKindSettings; 
+import jkind.SolverOption;
 import jkind.engines.messages.BaseStepMessage;
 import jkind.engines.messages.InductiveCounterexampleMessage;
 import jkind.engines.messages.InvalidMessage;
 import jkind.engines.messages.InvariantMessage;
 import jkind.engines.messages.Itinerary;
+import jkind.engines.messages.PropertiesMovedMessage;
 import jkind.engines.messages.UnknownMessage;
 import jkind.engines.messages.ValidMessage;
 import jkind.solvers.Model;
@@ -25,11 +27,20 @@ public class BmcEngine extends SolverBasedEngine {
 		super(NAME, spec, settings, director);
 	}
 
+	public BmcEngine(Specification spec, JKindSettings settings, Director director, SolverOption solver) {
+		super(NAME, spec, settings, director, solver);
+	}
+
+	public BmcEngine(Specification spec, JKindSettings settings, Director director, int shard) {
+		super(NAME, spec, settings, director, shard);
+	}
+
 	@Override
 	public void main() {
 		createVariables(-1);
 		for (int k = 0; k < settings.n; k++) {
 			comment("K = " + (k + 1));
+			setK(k + 1);
 			processMessages();
 			if (properties.isEmpty()) {
 				return;
@@ -45,7 +56,7 @@ public class BmcEngine extends SolverBasedEngine {
 	private void checkProperties(int k) {
 		Result result;
 		do {
-			result = solver.query(StreamIndex.conjoinEncodings(properties, k));
+			result = solver.lazyQuery(StreamIndex.conjoinEncodings(properties, k));
 
 			if (result instanceof SatResult || result instanceof UnknownResult) {
 				Model model = getModel(result);
@@ -71,11 +82,11 @@ public class BmcEngine extends SolverBasedEngine {
 
 	private void sendInvalid(List<String> invalid, int k, Model model) {
 		Itinerary itinerary = director.getInvalidMessageItinerary();
-		director.broadcast(new InvalidMessage(getName(), invalid, k + 1, model, itinerary));
+		director.broadcast(new InvalidMessage(getName(), invalid, k + 1, model.detach(), itinerary));
 	}
 
 	private void sendBaseStep(int k) {
-		director.broadcast(new BaseStepMessage(k + 1, properties));
+		director.broadcast(new BaseStepMessage(getName(), k + 1, properties));
 	}
 
 	private void sendUnknown(List<String> unknown) {
@@ -114,9 +125,14 @@ public class BmcEngine extends SolverBasedEngine {
 	protected void handleMessage(UnknownMessage um) {
 	}
 
+	@Override
+	protected void handleMessage(PropertiesMovedMessage pmm) {
+		properties.removeAll(pmm.properties);
+	}
+
 	@Override
 	protected void handleMessage(ValidMessage vm) {
 		properties.removeAll(vm.valid);
-		validProperties.addAll(vm.valid);
+		validProperties.addAll(getDefined(vm.valid));
 	}
 }
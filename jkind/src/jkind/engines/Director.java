@@ -3,21 +3,29 @@ package jkind.engines;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import jkind.ExitCodes;
 import jkind.JKindException;
 import jkind.JKindSettings;
 import jkind.Main;
+import jkind.SolverOption;
 import jkind.StdErr;
 import jkind.advice.Advice;
 import jkind.advice.AdviceReader;
 import jkind.advice.AdviceWriter;
+import jkind.cache.CachedResult;
+import jkind.cache.ProofCache;
 import jkind.engines.invariant.GraphInvariantGenerationEngine;
 import jkind.engines.ivcs.AllIvcsExtractorEngine; 
 import jkind.engines.ivcs.IvcReductionEngine;
@@ -27,17 +35,24 @@ import jkind.engines.messages.EngineType;
 import jkind.engines.messages.InductiveCounterexampleMessage;
 import jkind.engines.messages.InvalidMessage;
 import jkind.engines.messages.InvariantMessage;
+import jkind.engines.messages.IvcFoundMessage;
 import jkind.engines.messages.Itinerary;
 import jkind.engines.messages.Message;
+import jkind.engines.messages.PropertiesMovedMessage;
 import jkind.engines.messages.MessageHandler;
 import jkind.engines.messages.StopMessage;
 import jkind.engines.messages.UnknownMessage;
 import jkind.engines.messages.ValidMessage;
 import jkind.engines.pdr.PdrEngine;
 import jkind.lustre.Expr;
+import jkind.lustre.IdExpr;
 import jkind.results.Counterexample;
+import jkind.sexp.SexpFactory;
+import jkind.slicing.PropertyPartitioner;
 import jkind.results.layout.NodeLayout;
 import jkind.solvers.Model;
+import jkind.solvers.SolverPool;
+import jkind.solvers.SolverTelemetry;
 import jkind.translation.Specification;
 import jkind.util.CounterexampleExtractor;
 import jkind.util.ModelReconstructionEvaluator;
@@ -45,62 +60,86 @@ import jkind.util.Tuple;
 import jkind.util.Util;
 import jkind.writers.ConsoleWriter;
 import jkind.writers.ExcelWriter;
+import jkind.writers.TelemetryWriter;
 import jkind.writers.Writer;
 import jkind.writers.XmlWriter;
 
 public class Director extends MessageHandler {
 	public static final String NAME = "director";
 
+	/*
+	 * Engines wake the director whenever they send a message or stop, so this
+	 * only bounds how long it takes to notice an exit request on stdin
+	 */
+	private static final long EXIT_POLL_MILLIS = 100;
+
 	private final JKindSettings settings;
 	private final Specification userSpec;
-	private final Specification analysisSpec;
+	private Specification analysisSpec;
 	private final Writer writer;
 	public final long startTime;
 
 	private final List<String> remainingProperties = new ArrayList<>();
 	private final List<String> validProperties = new ArrayList<>();
 	private final List<String> invalidProperties = new ArrayList<>();
-	private int baseStep = 0;
+	private final Map<String, Integer> baseSteps = new HashMap<>();
 	private final Map<String, InductiveCounterexampleMessage> inductiveCounterexamples = new HashMap<>();
+	private final Map<String, Integer> answersBySource = new TreeMap<>();
+
+	// Engines are added while running when shards are rebalanced
+	private final List<Engine> engines = new CopyOnWriteArrayList<>();
+	private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+	// Bmc and k-induction engines racing each other in the solver portfolio
+	private final List<Engine> racingEngines = new ArrayList<>();
+	private final Set<String> canceledEngines = new HashSet<>();
 
-	private final List<Engine> engines = new ArrayList<>();
-	private final List<Thread> threads = new ArrayList<>();
+	private final List<Shard> shards = new ArrayList<>();
+	private final List<Expr> shardInvariants = new ArrayList<>();
+	private int nextShard = 1;
 
 	private Advice inputAdvice;
 	private AdviceWriter adviceWriter;
 
 	private MiniJKind miniJkind;
+	private final BooleanSupplier canceled;
+	private MetricsServer metricsServer;
+	private ProofCache proofCache;
+	private int invariantCount = 0;
 
 	public Director(JKindSettings settings, Specification userSpec, Specification analysisSpec) {
-		this.settings = settings;
-		this.userSpec = userSpec;
-		this.analysisSpec = analysisSpec;
-		this.miniJkind = null;
-		this.writer = getWriter();
-		this.startTime = System.currentTimeMillis();
-		this.remainingProperties.addAll(analysisSpec.node.properties);
-
-		if (settings.readAdvice != null) {
-			this.inputAdvice = AdviceReader.read(settings.readAdvice);
-		}
+		this(settings, userSpec, analysisSpec, null, null, null);
+	}
 
-		if (settings.writeAdvice != null) {
-			this.adviceWriter = new AdviceWriter(settings.writeAdvice);
-			this.adviceWriter.addVarDecls(Util.getVarDecls(analysisSpec.node));
-		}
+	public Director(JKindSettings settings, Specification userSpec, Specification analysisSpec, MiniJKind miniJkind) {
+		this(settings, userSpec, analysisSpec, miniJkind, null, null);
+	}
 
-		initializeUnknowns(settings, analysisSpec.node.properties);
+	/**
+	 * A director embedded in another application, which receives the results
+	 * through the given writer. Nothing is printed to stdout and the analysis
+	 * stops early once canceled returns true.
+	 */
+	public Director(JKindSettings settings, Specification userSpec, Specification analysisSpec, Writer writer,
+			BooleanSupplier canceled) {
+		this(settings, userSpec, analysisSpec, null, writer, canceled);
 	}
 
-	public Director(JKindSettings settings, Specification userSpec, Specification analysisSpec, MiniJKind miniJkind) {
+	private Director(JKindSettings settings, Specification userSpec, Specification analysisSpec,
+			MiniJKind miniJkind, Writer writer, BooleanSupplier canceled) {
 		this.settings = settings;
 		this.userSpec = userSpec;
 		this.analysisSpec = analysisSpec;
 		this.miniJkind = miniJkind;
-		this.writer = getWriter();
+		this.canceled = canceled;
+		this.writer = writer != null ? writer : getWriter();
 		this.startTime = System.currentTimeMillis();
 		this.remainingProperties.addAll(analysisSpec.node.properties);
 
+		if (settings.scratch) {
+			SexpFactory.enableStatistics();
+		}
+
 		if (settings.readAdvice != null) {
 			this.inputAdvice = AdviceReader.read(settings.readAdvice);
 		}
@@ -133,34 +172,56 @@ public class Director extends MessageHandler {
 
 
 	public int run() {
-		if(!settings.miniJkind){
+		if (!settings.miniJkind && !isEmbedded()) {
 			printHeader();
 		}
 		writer.begin();
-		addShutdownHook();
-		createAndStartEngines();
+		if (!isEmbedded()) {
+			addShutdownHook();
+		}
+		answerFromProofCache();
+		if (propertiesRemaining()) {
+			createAndStartEngines();
+		}
+		startMetricsServer();
 
 		while (!timeout() && propertiesRemaining() && someThreadAlive() && !someEngineFailed()
 				&& !exitRequested()) {
-			processMessages();
-			sleep(100);
-		} 
+			processMessagesAndWait(getWaitMillis());
+			rebalanceShards();
+			publishMetrics();
+		}
 		
 		processMessages();
 		int exitCode = 0;
-		if (removeShutdownHook()) {
+		if (isEmbedded() || removeShutdownHook()) {
 			postProcessing();
 			exitCode = reportFailures(); 
 		}
+		if (metricsServer != null) {
+			metricsServer.stop();
+		}
 		// MWW: added code: otherwise top-level jkind shuts down 
 		// minijkind!
-		if (settings.miniJkind) {
-			stopEngines(); 
+		if (settings.miniJkind || isEmbedded()) {
+			stopEngines();
+		}
+		// Pooled solvers would otherwise outlive the run in the host JVM
+		if (isEmbedded() && !settings.miniJkind) {
+			SolverPool.getInstance().clear();
 		}
 		return exitCode;
 	}
 
+	private boolean isEmbedded() {
+		return canceled != null;
+	}
+
 	private boolean exitRequested() {
+		if (isEmbedded()) {
+			return canceled.getAsBoolean();
+		}
+
 		try {
 			while (System.in.available() > 0) {
 				if (System.in.read() == Util.END_OF_TEXT) {
@@ -174,9 +235,12 @@ public class Director extends MessageHandler {
 
 	private void postProcessing() {
 		writeUnknowns();
+		writeTelemetry();
 		writer.end();
 		writeAdvice();
-		printSummary();
+		if (!isEmbedded()) {
+			printSummary();
+		}
 	}
 
 	private final Thread shutdownHook = new Thread("shutdown-hook") {
@@ -207,16 +271,27 @@ public class Director extends MessageHandler {
 	}
 
 	private void createEngines() {
-		if (settings.boundedModelChecking) {
-			addEngine(new BmcEngine(analysisSpec, settings, this));
-		}
+		if (settings.shards > 1) {
+			createShards();
+			if (settings.invariantGeneration) {
+				addEngine(new GraphInvariantGenerationEngine(analysisSpec, settings, this));
+			}
+		} else if (settings.portfolio != null) {
+			for (SolverOption solver : settings.portfolio) {
+				createPortfolioEngines(solver);
+			}
+		} else {
+			if (settings.boundedModelChecking) {
+				addEngine(new BmcEngine(analysisSpec, settings, this));
+			}
 
-		if (settings.kInduction) {
-			addEngine(new KInductionEngine(analysisSpec, settings, this));
-		}
+			if (settings.kInduction) {
+				addEngine(new KInductionEngine(analysisSpec, settings, this));
+			}
 
-		if (settings.invariantGeneration) {
-			addEngine(new GraphInvariantGenerationEngine(analysisSpec, settings, this));
+			if (settings.invariantGeneration) {
+				addEngine(new GraphInvariantGenerationEngine(analysisSpec, settings, this));
+			}
 		}
 
 		if (settings.smoothCounterexamples) {
@@ -227,7 +302,7 @@ public class Director extends MessageHandler {
 			addEngine(new PdrEngine(analysisSpec, settings, this));
 		}
 
-		if (settings.readAdvice != null) {
+		if (inputAdvice != null) {
 			addEngine(new AdviceEngine(analysisSpec, settings, this, inputAdvice));
 		}
 
@@ -240,9 +315,174 @@ public class Director extends MessageHandler {
 		} 
 	}
 
+	private void createPortfolioEngines(SolverOption solver) {
+		if (settings.boundedModelChecking) {
+			Engine bmc = new BmcEngine(analysisSpec, settings, this, solver);
+			racingEngines.add(bmc);
+			addEngine(bmc, BmcEngine.NAME);
+		}
+
+		if (settings.kInduction) {
+			Engine kInduction = new KInductionEngine(analysisSpec, settings, this, solver);
+			racingEngines.add(kInduction);
+			addEngine(kInduction, KInductionEngine.NAME);
+		}
+
+		if (settings.invariantGeneration) {
+			addEngine(new GraphInvariantGenerationEngine(analysisSpec, settings, this, solver),
+					GraphInvariantGenerationEngine.NAME);
+		}
+	}
+
+	/**
+	 * Split the properties by cone of influence into shards, each checked by
+	 * its own bmc and k-induction engines on a slice of the specification
+	 */
+	private void createShards() {
+		List<String> properties = analysisSpec.node.properties;
+		List<List<String>> groups = PropertyPartitioner.partition(properties, analysisSpec.dependencyMap,
+				settings.shards);
+		for (List<String> group : groups) {
+			createShard(group);
+		}
+	}
+
+	private void createShard(List<String> properties) {
+		Shard shard = new Shard(properties);
+		Specification spec = new Specification(analysisSpec, properties);
+		if (settings.boundedModelChecking) {
+			Engine bmc = new BmcEngine(spec, settings, this, nextShard);
+			shard.engines.add(bmc);
+			addEngine(bmc, BmcEngine.NAME);
+		}
+
+		if (settings.kInduction) {
+			Engine kInduction = new KInductionEngine(spec, settings, this, nextShard);
+			shard.engines.add(kInduction);
+			addEngine(kInduction, KInductionEngine.NAME);
+		}
+
+		shards.add(shard);
+		nextShard++;
+	}
+
+	/**
+	 * Once a shard has resolved all of its properties, move half of the
+	 * properties of the busiest shard to a new shard which takes its place.
+	 * The new shard repeats the base steps of the moved properties, but only
+	 * on the slice for those properties.
+	 */
+	private void rebalanceShards() {
+		for (Shard idle : new ArrayList<>(shards)) {
+			if (!intersect(idle.properties, remainingProperties).isEmpty()) {
+				continue;
+			}
+
+			Shard busiest = Collections.max(shards, Comparator.comparingInt(s -> getMovable(s).size()));
+			List<String> movable = getMovable(busiest);
+			if (movable.size() < 2) {
+				return;
+			}
+
+			List<String> moved = new ArrayList<>(movable.subList(movable.size() / 2, movable.size()));
+			busiest.properties.removeAll(moved);
+			for (Engine engine : busiest.engines) {
+				engine.receiveMessage(new PropertiesMovedMessage(moved));
+				for (String prop : moved) {
+					checkers.merge(engineKinds.get(engine.getName()) + " " + prop, -1, Integer::sum);
+				}
+			}
+			shards.remove(idle);
+
+			int first = engines.size();
+			createShard(moved);
+			for (int i = first; i < engines.size(); i++) {
+				// Start from what the other engines have learned so far
+				engines.get(i).receiveMessage(new InvariantMessage(shardInvariants));
+				threads.get(i).start();
+			}
+		}
+	}
+
+	/**
+	 * Remaining properties of the shard which none of its engines gave up on
+	 */
+	private List<String> getMovable(Shard shard) {
+		List<String> result = new ArrayList<>();
+		for (String prop : intersect(shard.properties, remainingProperties)) {
+			if (shard.engines.stream().noneMatch(e -> givenUp
+					.getOrDefault(engineKinds.get(e.getName()) + " " + prop, Collections.emptySet())
+					.contains(e.getName()))) {
+				result.add(prop);
+			}
+		}
+		return result;
+	}
+
+	private static class Shard {
+		final List<String> properties;
+		final List<Engine> engines = new ArrayList<>();
+
+		Shard(List<String> properties) {
+			this.properties = new ArrayList<>(properties);
+		}
+	}
+
 	private void addEngine(Engine engine) {
+		addEngine(engine, engine.getName());
+	}
+
+	/**
+	 * Add an engine of the given kind. Several engines of the same kind exist
+	 * when racing solvers or when checking shards.
+	 */
+	private void addEngine(Engine engine, String kind) {
 		engines.add(engine);
 		threads.add(new Thread(engine, engine.getName()));
+		engineKinds.put(engine.getName(), kind);
+		for (String prop : engine.spec.node.properties) {
+			checkers.merge(kind + " " + prop, 1, Integer::sum);
+		}
+	}
+
+	/**
+	 * In the solver portfolio, an engine which is a whole step behind the
+	 * engine of its kind that just decided some properties has lost the race.
+	 * The winner already checked every step the loser is still working on, so
+	 * the loser is canceled, stopping its solver in the middle of a query. A
+	 * loser is kept while the winner has given up on any remaining property,
+	 * since the loser may be the only engine of its kind still checking it.
+	 */
+	private void cancelLosingEngines(String winner, int k) {
+		String kind = engineKinds.get(winner);
+		if (kind == null || remainingProperties.stream().anyMatch(prop -> hasGivenUp(kind, prop, winner))) {
+			return;
+		}
+
+		Iterator<Engine> iterator = racingEngines.iterator();
+		while (iterator.hasNext()) {
+			Engine engine = iterator.next();
+			String name = engine.getName();
+			if (name.equals(winner) || !engineKinds.get(name).equals(kind) || engine.getCurrentK() >= k) {
+				continue;
+			}
+
+			iterator.remove();
+			canceledEngines.add(name);
+			engine.cancel();
+			for (String prop : remainingProperties) {
+				if (!hasGivenUp(kind, prop, name)) {
+					checkers.merge(kind + " " + prop, -1, Integer::sum);
+				}
+			}
+		}
+
+		markUnknowns(kind, getGivenUpByAllCheckers(kind, remainingProperties));
+		writeCompletelyUnknown(new ArrayList<>(remainingProperties));
+	}
+
+	private boolean hasGivenUp(String kind, String prop, String engine) {
+		return givenUp.getOrDefault(kind + " " + prop, Collections.emptySet()).contains(engine);
 	}
 
 	private void stopEngines() {
@@ -262,9 +502,17 @@ public class Director extends MessageHandler {
 		}
 	}
 
+	private long getDeadline() {
+		return startTime + ((long) settings.timeout) * 1000;
+	}
+
 	private boolean timeout() {
-		long timeout = startTime + ((long) settings.timeout) * 1000;
-		return System.currentTimeMillis() > timeout;
+		return System.currentTimeMillis() > getDeadline();
+	}
+
+	private long getWaitMillis() {
+		long remaining = getDeadline() - System.currentTimeMillis() + 1;
+		return Math.max(1, Math.min(remaining, EXIT_POLL_MILLIS));
 	}
 
 	private boolean propertiesRemaining() {
@@ -281,11 +529,19 @@ public class Director extends MessageHandler {
 
 	private void writeUnknowns() {
 		if (!remainingProperties.isEmpty()) {
-			writer.writeUnknown(remainingProperties, baseStep, convertInductiveCounterexamples(),
-					getRuntime());
+			Map<Integer, List<String>> byBaseStep = remainingProperties.stream()
+					.collect(Collectors.groupingBy(this::getBaseStep, TreeMap::new, Collectors.toList()));
+			Map<String, Counterexample> inductiveCounterexamples = convertInductiveCounterexamples();
+			for (Entry<Integer, List<String>> entry : byBaseStep.entrySet()) {
+				writer.writeUnknown(entry.getValue(), entry.getKey(), inductiveCounterexamples, getRuntime());
+			}
 		}
 	}
 
+	private int getBaseStep(String prop) {
+		return baseSteps.getOrDefault(prop, 0);
+	}
+
 	private int reportFailures() {
 		int exitCode = 0;
 		for (Engine engine : engines) {
@@ -317,6 +573,85 @@ public class Director extends MessageHandler {
 		}
 	}
 
+	/**
+	 * Answer properties found in the proof cache, restrict the analysis to the
+	 * remaining ones, and seed it with the invariants once used to prove them
+	 */
+	private void answerFromProofCache() {
+		if (settings.proofCache == null || settings.miniJkind) {
+			return;
+		}
+
+		proofCache = new ProofCache(settings.proofCache, userSpec);
+		for (String prop : new ArrayList<>(remainingProperties)) {
+			CachedResult result = proofCache.lookup(prop);
+			if (result == null) {
+				continue;
+			}
+
+			remainingProperties.remove(prop);
+			answersBySource.merge(ProofCache.SOURCE, 1, Integer::sum);
+			List<String> props = Collections.singletonList(prop);
+			if (result.isValid()) {
+				validProperties.add(prop);
+				writer.writeValid(props, ProofCache.SOURCE, result.k, 0, getRuntime(), Collections.emptyList(),
+						Collections.emptySet(), Collections.emptyList());
+			} else {
+				invalidProperties.add(prop);
+				writer.writeInvalid(prop, ProofCache.SOURCE, result.counterexample, Collections.emptyList(),
+						getRuntime());
+			}
+		}
+
+		if (proofCache.getHits() > 0 && propertiesRemaining()) {
+			analysisSpec = new Specification(analysisSpec, remainingProperties);
+		}
+
+		Advice cached = proofCache.getInvariants(remainingProperties);
+		if (!cached.getInvariants().isEmpty()) {
+			if (inputAdvice == null) {
+				inputAdvice = new Advice();
+			}
+			inputAdvice.addVarDecls(cached.getVarDecls());
+			inputAdvice.addInvariants(cached.getInvariants());
+		}
+	}
+
+	private void startMetricsServer() {
+		if (settings.metricsPort > 0) {
+			metricsServer = new MetricsServer(settings.metricsPort, engines, threads);
+			publishMetrics();
+			metricsServer.start();
+		}
+	}
+
+	private void publishMetrics() {
+		if (metricsServer != null) {
+			metricsServer.setProperties(remainingProperties.size(), validProperties.size(),
+					invalidProperties.size());
+			metricsServer.setInvariants(invariantCount);
+		}
+	}
+
+	private void writeTelemetry() {
+		if (!settings.telemetry) {
+			return;
+		}
+
+		List<SolverTelemetry> telemetry = new ArrayList<>();
+		for (Engine engine : engines) {
+			if (engine instanceof SolverBasedEngine) {
+				SolverTelemetry engineTelemetry = ((SolverBasedEngine) engine).getTelemetry();
+				if (engineTelemetry != null) {
+					telemetry.add(engineTelemetry);
+				}
+			}
+		}
+
+		writer.writeTelemetry(telemetry);
+		new TelemetryWriter(settings.filename + ".telemetry.json").write(telemetry);
+	}
+
 	private void writeAdvice() {
 		if (adviceWriter != null) {
 			adviceWriter.write();
@@ -344,11 +679,25 @@ public class Director extends MessageHandler {
 		remainingProperties.removeAll(newValid);
 		validProperties.addAll(newValid);
 		inductiveCounterexamples.keySet().removeAll(newValid);
+		answersBySource.merge(vm.source, newValid.size(), Integer::sum);
+		cancelLosingEngines(vm.source, vm.k);
 
 		if (adviceWriter != null) {
 			adviceWriter.addInvariants(vm.invariants);
 		}
 
+		if (settings.shards > 1) {
+			shardInvariants.addAll(vm.invariants);
+			newValid.forEach(prop -> shardInvariants.add(new IdExpr(prop)));
+		}
+
+		if (proofCache != null) {
+			for (String prop : newValid) {
+				proofCache.storeValid(prop, vm.source, vm.k, vm.proofTime, vm.invariants,
+						Util.getVarDecls(analysisSpec.node));
+			}
+		}
+
 		List<Expr> invariants = settings.reduceIvc ? vm.invariants : Collections.emptyList();
 
 		if((!settings.miniJkind) && (settings.reduceIvc)){
@@ -388,11 +737,16 @@ public class Director extends MessageHandler {
 		remainingProperties.removeAll(newInvalid);
 		invalidProperties.addAll(newInvalid);
 		inductiveCounterexamples.keySet().removeAll(newInvalid);
+		answersBySource.merge(im.source, newInvalid.size(), Integer::sum);
+		cancelLosingEngines(im.source, im.length);
 
 		double runtime = getRuntime();
 		for (String invalidProp : newInvalid) {
 			Counterexample cex = extractCounterexample(invalidProp, im.length, im.model, true);
 			writer.writeInvalid(invalidProp, im.source, cex, Collections.emptyList(), runtime);
+			if (proofCache != null) {
+				proofCache.storeInvalid(invalidProp, im.source, runtime, cex);
+			}
 		}
 	}
 
@@ -425,46 +779,80 @@ public class Director extends MessageHandler {
 
 	@Override
 	protected void handleMessage(UnknownMessage um) {
-		if (um.source.equals(NAME)) {
+		if (um.source.equals(NAME) || canceledEngines.contains(um.source)) {
 			return;
 		}
 
-		markUnknowns(um);
+		String kind = engineKinds.getOrDefault(um.source, um.source);
+		markUnknowns(kind, getUnknownForAllCheckers(kind, um));
+		writeCompletelyUnknown(um.unknown);
+	}
 
-		Map<Integer, List<String>> completed = getCompletelyUnknownByBaseStep(um);
+	/**
+	 * Report the given properties which every kind of engine has given up on
+	 */
+	private void writeCompletelyUnknown(List<String> properties) {
+		Map<Integer, List<String>> completed = getCompletelyUnknownByBaseStep(properties);
 		for (Entry<Integer, List<String>> entry : completed.entrySet()) {
 			int baseStep = entry.getKey();
 			List<String> unknowns = entry.getValue();
 			remainingProperties.removeAll(unknowns);
-			writer.writeUnknown(um.unknown, baseStep, convertInductiveCounterexamples(),
+			writer.writeUnknown(unknowns, baseStep, convertInductiveCounterexamples(),
 					getRuntime());
 			broadcast(new UnknownMessage(NAME, unknowns));
 		}
 	}
 
-	private Map<Integer, List<String>> getCompletelyUnknownByBaseStep(UnknownMessage um) {
-		return um.unknown.stream().filter(this::isCompletelyUnknown)
+	private Map<Integer, List<String>> getCompletelyUnknownByBaseStep(List<String> properties) {
+		return properties.stream().filter(remainingProperties::contains).filter(this::isCompletelyUnknown)
 				.collect(Collectors.groupingBy(bmcUnknowns::get));
 	}
 
-	private void markUnknowns(UnknownMessage um) {
-		switch (um.source) {
+	private void markUnknowns(String kind, List<String> unknown) {
+		switch (kind) {
 		case BmcEngine.NAME:
-			for (String prop : um.unknown) {
-				bmcUnknowns.put(prop, baseStep);
+			for (String prop : unknown) {
+				bmcUnknowns.put(prop, getBaseStep(prop));
 			}
 			break;
 
 		case KInductionEngine.NAME:
-			kInductionUnknowns.addAll(um.unknown);
+			kInductionUnknowns.addAll(unknown);
 			break;
 
 		case PdrEngine.NAME:
-			pdrUnknowns.addAll(um.unknown);
+			pdrUnknowns.addAll(unknown);
 			break;
 		}
 	}
 
+	private final Map<String, String> engineKinds = new HashMap<>();
+	private final Map<String, Integer> checkers = new HashMap<>();
+	private final Map<String, Set<String>> givenUp = new HashMap<>();
+
+	/**
+	 * A kind of engine only gives up on a property once all engines of that
+	 * kind which check the property have given up on it
+	 */
+	private List<String> getUnknownForAllCheckers(String kind, UnknownMessage um) {
+		for (String prop : um.unknown) {
+			givenUp.computeIfAbsent(kind + " " + prop, k -> new HashSet<>()).add(um.source);
+		}
+		return getGivenUpByAllCheckers(kind, um.unknown);
+	}
+
+	private List<String> getGivenUpByAllCheckers(String kind, List<String> properties) {
+		List<String> result = new ArrayList<>();
+		for (String prop : properties) {
+			String key = kind + " " + prop;
+			Set<String> sources = givenUp.getOrDefault(key, Collections.emptySet());
+			if (!sources.isEmpty() && sources.size() >= checkers.getOrDefault(key, 1)) {
+				result.add(prop);
+			}
+		}
+		return result;
+	}
+
 	public boolean isCompletelyUnknown(String prop) {
 		return bmcUnknowns.containsKey(prop) && kInductionUnknowns.contains(prop)
 				&& pdrUnknowns.contains(prop);
@@ -472,14 +860,34 @@ public class Director extends MessageHandler {
 
 	@Override
 	protected void handleMessage(BaseStepMessage bsm) {
-		baseStep = bsm.step;
-		if (!bsm.properties.isEmpty()) {
-			writer.writeBaseStep(bsm.properties, baseStep);
+		// Steps may already be reported by another bmc engine in the solver
+		// portfolio, and bmc engines for different shards are at different steps
+		List<String> advanced = new ArrayList<>();
+		for (String prop : bsm.properties) {
+			if (bsm.step > getBaseStep(prop)) {
+				baseSteps.put(prop, bsm.step);
+				advanced.add(prop);
+			}
+		}
+
+		if (!advanced.isEmpty()) {
+			writer.writeBaseStep(advanced, bsm.step);
 		}
 	}
 
 	@Override
 	protected void handleMessage(InvariantMessage im) {
+		invariantCount += im.invariants.size();
+		if (settings.shards > 1) {
+			shardInvariants.addAll(im.invariants);
+		}
+	}
+
+	@Override
+	protected void handleMessage(IvcFoundMessage ifm) {
+		Set<String> ivc = IvcUtil.trimNode(IvcUtil.findRightSide(ifm.ivc, settings.allAssigned,
+				analysisSpec.node.equations));
+		writer.writeIvcFound(ifm.property, ivc, ifm.invariants);
 	}
 
 	public Itinerary getValidMessageItinerary() {
@@ -528,6 +936,28 @@ public class Director extends MessageHandler {
 				System.out.println("UNKNOWN PROPERTIES: " + unknownProperties);
 				System.out.println();
 			}
+
+			if (settings.portfolio != null) {
+				System.out.println("PORTFOLIO ANSWERS: " + answersBySource);
+				System.out.println();
+			}
+
+			if (proofCache != null) {
+				System.out.println("PROOF CACHE: " + proofCache.getHits() + " of " + proofCache.getLookups()
+						+ " properties answered from cache, saving at least "
+						+ String.format("%.3f", proofCache.getSavedSeconds()) + "s");
+				System.out.println();
+			}
+
+			if (settings.solverPool) {
+				System.out.println("SOLVER POOL: " + SolverPool.getInstance().getStatistics());
+				System.out.println();
+			}
+
+			if (settings.scratch) {
+				System.out.println("SEXP: " + SexpFactory.getStatistics());
+				System.out.println();
+			}
 		}
 	}
 
@@ -19,6 +19,10 @@ public abstract class Engine extends MessageHandler implements Runnable {
 	// The director process will read this from another thread,
 	// so we make it volatile
 	protected volatile Throwable throwable;
+	protected volatile boolean canceled;
+
+	// The depth the engine is working on, read by the metrics server
+	private volatile int k = -1;
 
 	public Engine(String name, Specification spec, JKindSettings settings, Director director) {
 		this.name = name;
@@ -36,9 +40,14 @@ public abstract class Engine extends MessageHandler implements Runnable {
 			main();
 		} catch (StopException se) {
 		} catch (Throwable t) {
-			throwable = t;
+			if (!canceled) {
+				throwable = t;
+			}
 		} finally {
 			stopReceivingMessages();
+			if (director != null) {
+				director.wakeup();
+			}
 		}
 	}
 
@@ -46,6 +55,14 @@ public abstract class Engine extends MessageHandler implements Runnable {
 		return name;
 	}
 
+	public int getCurrentK() {
+		return k;
+	}
+
+	protected void setK(int k) {
+		this.k = k;
+	}
+
 	public Throwable getThrowable() {
 		return throwable;
 	}
@@ -53,6 +70,16 @@ public abstract class Engine extends MessageHandler implements Runnable {
 	public void stopEngine() {
 		receiveMessage(new StopMessage());
 	}
+
+	/**
+	 * Stop the engine while the analysis goes on. A solver based engine is
+	 * stopped in the middle of any query it is running, and the resulting
+	 * failure of the engine thread is not reported.
+	 */
+	public void cancel() {
+		canceled = true;
+		stopEngine();
+	}
 	
 	protected String getScratchBase() {
 		if (settings.scratch) {
@@ -8,12 +8,14 @@ import java.util.List;
 import java.util.Map;
 
 import jkind.JKindSettings;
+import jkind.SolverOption;
 import jkind.engines.invariant.InvariantSet; 
 import jkind.engines.messages.BaseStepMessage;
 import jkind.engines.messages.InductiveCounterexampleMessage;
 import jkind.engines.messages.InvalidMessage;
 import jkind.engines.messages.InvariantMessage;
 import jkind.engines.messages.Itinerary;
+import jkind.engines.messages.PropertiesMovedMessage;
 import jkind.engines.messages.Message;
 import jkind.engines.messages.UnknownMessage;
 import jkind.engines.messages.ValidMessage;
@@ -21,6 +23,7 @@ import jkind.lustre.Expr;
 import jkind.lustre.IdExpr;
 import jkind.sexp.Cons;
 import jkind.sexp.Sexp;
+import jkind.sexp.Symbol;
 import jkind.solvers.Model;
 import jkind.solvers.Result;
 import jkind.solvers.SatResult;
@@ -36,9 +39,27 @@ public class KInductionEngine extends SolverBasedEngine {
 	private int kLimit = 0;
 	private InvariantSet invariants = new InvariantSet();
 	private Map<Integer, List<String>> baseStepValid = new HashMap<>();
+	private Map<String, Symbol> hypothesisLiterals = new HashMap<>();
+	private final String bmcName;
 
 	public KInductionEngine(Specification spec, JKindSettings settings, Director director) {
 		super(NAME, spec, settings, director);
+		this.bmcName = null;
+	}
+
+	public KInductionEngine(Specification spec, JKindSettings settings, Director director,
+			SolverOption solver) {
+		super(NAME, spec, settings, director, solver);
+		this.bmcName = null;
+	}
+
+	/**
+	 * Create an engine for one shard of the properties. It only follows the
+	 * base steps of the bmc engine checking the same shard.
+	 */
+	public KInductionEngine(Specification spec, JKindSettings settings, Director director, int shard) {
+		super(NAME, spec, settings, director, shard);
+		this.bmcName = BmcEngine.NAME + "-" + shard;
 	}
 
 	@Override
@@ -46,10 +67,14 @@ public class KInductionEngine extends SolverBasedEngine {
 		createVariables(-1);
 		for (kCurrent = 0; kCurrent <= settings.n; kCurrent++) {
 			comment("K = " + kCurrent);
+			setK(kCurrent);
 			processMessagesAndWait();
 			pruneUnknownProperties(kCurrent);
 			createVariables(kCurrent);
 			assertTransitionAndInvariants(kCurrent);
+			if (settings.incrementalInduction) {
+				assertHypotheses(kCurrent - 1);
+			}
 			checkProperties(kCurrent);
 			if (properties.isEmpty()) {
 				return;
@@ -75,6 +100,12 @@ public class KInductionEngine extends SolverBasedEngine {
 		}
 	}
 
+	private static List<String> union(List<String> list1, List<String> list2) {
+		List<String> result = new ArrayList<>(list1);
+		list2.stream().filter(p -> !result.contains(p)).forEach(result::add);
+		return result;
+	}
+
 	private List<String> difference(List<String> list1, List<String> list2) {
 		List<String> result = new ArrayList<>(list1);
 		result.removeAll(list2);
@@ -85,7 +116,7 @@ public class KInductionEngine extends SolverBasedEngine {
 		List<String> possiblyValid = new ArrayList<>(properties);
 
 		while (!possiblyValid.isEmpty()) {
-			Result result = solver.query(getInductiveQuery(k, possiblyValid));
+			Result result = solver.lazyQuery(getInductiveQuery(k, possiblyValid));
 
 			if (result instanceof SatResult || result instanceof UnknownResult) {
 				Model model = getModel(result);
@@ -133,14 +164,47 @@ public class KInductionEngine extends SolverBasedEngine {
 
 	private Sexp getInductiveQuery(int k, List<String> possiblyValid) {
 		List<Sexp> hyps = new ArrayList<>();
-		for (int i = 0; i < k; i++) {
-			hyps.add(StreamIndex.conjoinEncodings(possiblyValid, i));
+		if (!settings.incrementalInduction) {
+			for (int i = 0; i < k; i++) {
+				hyps.add(StreamIndex.conjoinEncodings(possiblyValid, i));
+			}
+		} else if (k > 0) {
+			for (String property : possiblyValid) {
+				hyps.add(getHypothesisLiteral(property));
+			}
 		}
 		Sexp conc = StreamIndex.conjoinEncodings(possiblyValid, k);
 
 		return new Cons("=>", SexpUtil.conjoin(hyps), conc);
 	}
 
+	/**
+	 * In incremental mode, the hypothesis that a property holds at each step is
+	 * asserted once, guarded by an activation literal for the property. A
+	 * query then only has to assume the literals of the properties which are
+	 * still possibly valid. Since properties are only ever removed, every
+	 * remaining property has its hypotheses asserted for all earlier steps.
+	 */
+	private void assertHypotheses(int i) {
+		if (i < 0) {
+			return;
+		}
+
+		for (String property : properties) {
+			Symbol literal = getHypothesisLiteral(property);
+			solver.assertSexp(new Cons("=>", literal, new StreamIndex(property, i).getEncoded()));
+		}
+	}
+
+	private Symbol getHypothesisLiteral(String property) {
+		Symbol literal = hypothesisLiterals.get(property);
+		if (literal == null) {
+			literal = solver.createActivationLiteral("hyp", hypothesisLiterals.size());
+			hypothesisLiterals.put(property, literal);
+		}
+		return literal;
+	}
+
 	private void sendValid(List<String> valid, int k) {
 		Itinerary itinerary = director.getValidMessageItinerary();
 		Message vm = new ValidMessage(getName(), valid, k, getRuntime(), invariants.getInvariants(), null, itinerary, null);
@@ -149,7 +213,7 @@ public class KInductionEngine extends SolverBasedEngine {
 
 	private void sendInductiveCounterexamples(List<String> properties, int length, Model model) {
 		if (settings.inductiveCounterexamples && properties.size() > 0) {
-			director.broadcast(new InductiveCounterexampleMessage(properties, length, model));
+			director.broadcast(new InductiveCounterexampleMessage(properties, length, model.detach()));
 		}
 	}
 
@@ -159,8 +223,13 @@ public class KInductionEngine extends SolverBasedEngine {
 
 	@Override
 	protected void handleMessage(BaseStepMessage bsm) {
-		kLimit = bsm.step;
-		baseStepValid.put(bsm.step, bsm.properties);
+		if (bmcName != null && !bmcName.equals(bsm.source)) {
+			return;
+		}
+
+		// With a solver portfolio several bmc engines report the same steps
+		kLimit = Math.max(kLimit, bsm.step);
+		baseStepValid.merge(bsm.step, bsm.properties, KInductionEngine::union);
 	}
 
 	@Override
@@ -174,9 +243,9 @@ public class KInductionEngine extends SolverBasedEngine {
 
 	@Override
 	protected void handleMessage(InvariantMessage im) {
-		List<Expr> supported = im.invariants.stream().filter(solver::supports).collect(toList());
-		invariants.addAll(supported);
-		assertNewInvariants(supported, kCurrent - 1);
+		List<Expr> fresh = im.invariants.stream().filter(solver::supports).filter(this::isDefined)
+				.filter(invariants::add).collect(toList());
+		assertNewInvariants(fresh, kCurrent - 1);
 	}
 
 	@Override
@@ -184,10 +253,15 @@ public class KInductionEngine extends SolverBasedEngine {
 		properties.removeAll(um.unknown);
 	}
 
+	@Override
+	protected void handleMessage(PropertiesMovedMessage pmm) {
+		properties.removeAll(pmm.properties);
+	}
+
 	@Override
 	protected void handleMessage(ValidMessage vm) {
 		properties.removeAll(vm.valid);
-		addPropertiesAsInvariants(kCurrent - 1, vm.valid);
+		addPropertiesAsInvariants(kCurrent - 1, getDefined(vm.valid));
 	}
 	
 	private double getRuntime() {
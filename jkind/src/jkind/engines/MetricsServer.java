@@ -0,0 +1,182 @@
+package jkind.engines;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jkind.JKindException;
+import jkind.engines.pdr.PdrEngine;
+import jkind.solvers.SolverTelemetry;
+import jkind.solvers.SolverTelemetry.Operation;
+import jkind.solvers.SolverTelemetry.Statistics;
+
+/**
+ * Serves the progress of a run at http://localhost:port/metrics in the
+ * Prometheus text format, see JKindSettings.metricsPort.
+ *
+ * The director publishes its property counts after each round of messages,
+ * everything else is read directly from the engines.
+ */
+public class MetricsServer {
+	private final HttpServer server;
+	private final List<Engine> engines;
+	private final List<Thread> threads;
+	private final long startTime = System.currentTimeMillis();
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	private volatile int remaining;
+	private volatile int valid;
+	private volatile int invalid;
+	private volatile int invariants;
+
+	public MetricsServer(int port, List<Engine> engines, List<Thread> threads) {
+		this.engines = new ArrayList<>(engines);
+		this.threads = new ArrayList<>(threads);
+		try {
+			server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		} catch (IOException e) {
+			throw new JKindException("Unable to open metrics port " + port, e);
+		}
+		server.createContext("/metrics", this::handle);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+	}
+
+	public void setProperties(int remaining, int valid, int invalid) {
+		this.remaining = remaining;
+		this.valid = valid;
+		this.invalid = invalid;
+	}
+
+	public void setInvariants(int invariants) {
+		this.invariants = invariants;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		byte[] body = getMetrics().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private String getMetrics() {
+		StringBuilder text = new StringBuilder();
+		gauge(text, "jkind_runtime_seconds", "Time since the engines started",
+				(System.currentTimeMillis() - startTime) / 1000.0);
+		gauge(text, "jkind_properties_remaining", "Properties without an answer", remaining);
+		gauge(text, "jkind_properties_valid", "Properties proven valid", valid);
+		gauge(text, "jkind_properties_invalid", "Properties proven invalid", invalid);
+		gauge(text, "jkind_invariants", "Invariants received by the director", invariants);
+
+		MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+		gauge(text, "jkind_heap_used_bytes", "Heap in use", heap.getUsed());
+		gauge(text, "jkind_heap_max_bytes", "Maximum heap size", heap.getMax());
+
+		header(text, "jkind_engine_k", "gauge", "Depth the engine is working on");
+		for (Engine engine : engines) {
+			if (engine.getCurrentK() >= 0) {
+				sample(text, "jkind_engine_k", engine, engine.getCurrentK());
+			}
+		}
+
+		header(text, "jkind_engine_cpu_seconds", "counter",
+				"CPU time of the engine thread, excluding external solver processes");
+		for (int i = 0; i < engines.size(); i++) {
+			long nanos = threadBean.getThreadCpuTime(threads.get(i).getId());
+			if (nanos >= 0) {
+				sample(text, "jkind_engine_cpu_seconds", engines.get(i), nanos / 1e9);
+			}
+		}
+
+		writeSolverMetrics(text);
+		writePdrMetrics(text);
+		return text.toString();
+	}
+
+	private void writeSolverMetrics(StringBuilder text) {
+		StringBuilder operations = new StringBuilder();
+		StringBuilder seconds = new StringBuilder();
+		StringBuilder active = new StringBuilder();
+		for (Engine engine : engines) {
+			if (!(engine instanceof SolverBasedEngine)) {
+				continue;
+			}
+			SolverTelemetry telemetry = ((SolverBasedEngine) engine).getTelemetry();
+			if (telemetry == null) {
+				continue;
+			}
+
+			Map<Operation, Statistics> statistics = telemetry.getStatistics();
+			for (Operation operation : statistics.keySet()) {
+				Statistics stats = statistics.get(operation);
+				String labels = labels(engine) + ",operation=\"" + operation + "\"";
+				operations.append("jkind_solver_operations_total{" + labels + "} " + stats.count + "\n");
+				seconds.append("jkind_solver_operation_seconds_total{" + labels + "} " + stats.getSeconds() + "\n");
+			}
+			sample(active, "jkind_solver_active_seconds", engine, telemetry.getActiveSeconds());
+		}
+
+		// Samples of one metric must not be interleaved with others
+		header(text, "jkind_solver_operations_total", "counter", "Solver operations made by the engine");
+		text.append(operations);
+		header(text, "jkind_solver_operation_seconds_total", "counter", "Time spent in solver operations");
+		text.append(seconds);
+		header(text, "jkind_solver_active_seconds", "gauge",
+				"Time the solver has spent on its current operation, zero if idle");
+		text.append(active);
+	}
+
+	private void writePdrMetrics(StringBuilder text) {
+		header(text, "jkind_pdr_blocked_checks_total", "counter", "Checks if a cube is blocked in a PDR frame");
+		for (Engine engine : engines) {
+			if (engine instanceof PdrEngine) {
+				sample(text, "jkind_pdr_blocked_checks_total", engine, ((PdrEngine) engine).getBlockedChecks());
+			}
+		}
+
+		header(text, "jkind_pdr_sat_calls_avoided_total", "counter",
+				"Blocked checks answered by cube subsumption rather than the solver");
+		for (Engine engine : engines) {
+			if (engine instanceof PdrEngine) {
+				sample(text, "jkind_pdr_sat_calls_avoided_total", engine, ((PdrEngine) engine).getSatCallsAvoided());
+			}
+		}
+	}
+
+	private static void gauge(StringBuilder text, String name, String help, double value) {
+		header(text, name, "gauge", help);
+		text.append(name + " " + value + "\n");
+	}
+
+	private static void header(StringBuilder text, String name, String type, String help) {
+		text.append("# HELP " + name + " " + help + "\n");
+		text.append("# TYPE " + name + " " + type + "\n");
+	}
+
+	private static void sample(StringBuilder text, String name, Engine engine, double value) {
+		text.append(name + "{" + labels(engine) + "} " + value + "\n");
+	}
+
+	private static String labels(Engine engine) {
+		return "engine=\"" + engine.getName() + "\"";
+	}
+}
@@ -1,5 +1,6 @@
 package jkind.engines;
 import jkind.ExitCodes; 
+import jkind.JKindException;
 import jkind.JKindSettings;
 import jkind.engines.ivcs.IvcUtil;
 import jkind.engines.messages.BaseStepMessage;
@@ -65,8 +66,11 @@ public class MiniJKind extends Engine {
 				status = UNKNOWN_WITH_EXCEPTION;
 			} 
 		} 
+		catch (JKindException e) {
+			throw e;
+		}
 		catch (Throwable t) {  
-			System.exit(ExitCodes.UNCAUGHT_EXCEPTION);
+			throw new JKindException("Error while verifying inductive validity core candidate", t);
 		}
 	}
 	
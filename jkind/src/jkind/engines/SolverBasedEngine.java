@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import jkind.JKindSettings;
+import jkind.SolverOption;
+import jkind.advice.VariableUsageChecker;
 import jkind.engines.messages.StopMessage;
 import jkind.lustre.Expr;
 import jkind.lustre.LustreUtil;
@@ -17,45 +19,134 @@ import jkind.solvers.Model;
 import jkind.solvers.Result;
 import jkind.solvers.SatResult;
 import jkind.solvers.Solver;
+import jkind.solvers.SolverPool;
+import jkind.solvers.SolverTelemetry;
 import jkind.solvers.UnknownResult;
 import jkind.translation.Lustre2Sexp;
+import jkind.translation.Relation;
 import jkind.translation.Specification;
 import jkind.util.StreamIndex;
 import jkind.util.Util;
 
 public abstract class SolverBasedEngine extends Engine {
 	protected Solver solver;
+	private VariableUsageChecker variableChecker;
+	private SolverTelemetry telemetry;
 
 	public SolverBasedEngine(String name, Specification spec, JKindSettings settings,
 			Director director) {
 		super(name, spec, settings, director);
 	}
 
+	/**
+	 * Create an engine which races engines of the same kind using other
+	 * solvers, see JKindSettings.portfolio
+	 */
+	public SolverBasedEngine(String name, Specification spec, JKindSettings settings,
+			Director director, SolverOption solver) {
+		super(name + "-" + solver, spec, withSolver(settings, solver), director);
+	}
+
+	/**
+	 * Create an engine which checks one shard of the properties, see
+	 * JKindSettings.shards
+	 */
+	public SolverBasedEngine(String name, Specification spec, JKindSettings settings,
+			Director director, int shard) {
+		super(name + "-" + shard, spec, settings, director);
+	}
+
+	private static JKindSettings withSolver(JKindSettings settings, SolverOption solver) {
+		JKindSettings result = new JKindSettings(settings);
+		result.solver = solver;
+		return result;
+	}
+
 	@Override
 	public final void run() {
 		try {
 			initializeSolver();
+			startTelemetry();
 			super.run();
 		} catch (StopException se) {
 		} catch (NullPointerException n){ }
 		  catch (Throwable t) {
-			throwable = t;
+			if (!canceled) {
+				throwable = t;
+			}
 		} finally {
-			killEngine();
+			releaseSolver();
 		}
 	}
 
 	protected void initializeSolver() {
-		solver = getSolver();
-		solver.initialize();
+		if (settings.solverPool && !settings.scratch) {
+			solver = SolverUtil.getPooledSolver(settings.solver, spec.node, getPreludeKey(),
+					this::definePrelude);
+		} else {
+			solver = getSolver();
+			solver.initialize();
+			definePrelude(solver);
+		}
+	}
+
+	private void startTelemetry() {
+		if (settings.telemetry || settings.metricsPort > 0) {
+			telemetry = new SolverTelemetry(getName());
+			solver.setTelemetry(telemetry);
+		}
+	}
+
+	/**
+	 * The solver operations of this engine, or null unless
+	 * JKindSettings.telemetry or JKindSettings.metricsPort is set
+	 */
+	public SolverTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	private void definePrelude(Solver solver) {
 		solver.declare(spec.functions);
 		solver.define(spec.getTransitionRelation());
 		solver.define(new VarDecl(INIT.str, NamedType.BOOL));
 	}
 
+	/**
+	 * The functions and the whole definition of the transition relation, so
+	 * that relations differing only in their parameters or sorts do not share
+	 * a prelude
+	 */
+	private String getPreludeKey() {
+		Relation relation = spec.getTransitionRelation();
+		List<Sexp> params = new ArrayList<>();
+		for (VarDecl vd : relation.getInputs()) {
+			params.add(new Cons(vd.id, new Symbol(vd.type.toString())));
+		}
+		Sexp define = new Cons("define-fun", new Symbol(relation.getName()), new Cons(params),
+				new Symbol(NamedType.BOOL.toString()), relation.getBody());
+		return spec.functions + "\n" + define;
+	}
+
 	public synchronized void killEngine() {
 		if (solver != null) {
-			solver.stop();
+			solver.setTelemetry(null);
+			SolverPool.getInstance().discard(solver);
+			solver = null;
+		}
+	}
+
+	/**
+	 * Called from the engine thread once it is done with the solver. A solver
+	 * left in an unknown state by a failure is stopped rather than reused.
+	 */
+	private synchronized void releaseSolver() {
+		if (solver != null) {
+			solver.setTelemetry(null);
+			if (throwable == null) {
+				SolverPool.getInstance().release(solver);
+			} else {
+				SolverPool.getInstance().discard(solver);
+			}
 			solver = null;
 		}
 	}
@@ -150,6 +241,28 @@ public abstract class SolverBasedEngine extends Engine {
 		}
 	}
 
+	/**
+	 * Check if an expression only refers to variables of this engine. An
+	 * engine checking a shard only knows the cone of influence of its
+	 * properties, while invariants may come from engines checking everything.
+	 */
+	protected boolean isDefined(Expr expr) {
+		if (variableChecker == null) {
+			variableChecker = new VariableUsageChecker(Util.getVarDecls(spec.node));
+		}
+		return variableChecker.check(expr);
+	}
+
+	protected List<String> getDefined(List<String> properties) {
+		List<String> result = new ArrayList<>();
+		for (String p : properties) {
+			if (spec.typeMap.containsKey(p)) {
+				result.add(p);
+			}
+		}
+		return result;
+	}
+
 	protected List<String> getFalseProperties(List<String> properties, int k, Model model) {
 		List<String> falses = new ArrayList<>();
 		for (String p : properties) {
@@ -4,6 +4,7 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import jkind.JKindException;
 import jkind.SolverOption;
@@ -12,9 +13,11 @@ import jkind.analysis.YicesArithOnlyCheck;
 import jkind.lustre.Node;
 import jkind.lustre.builders.NodeBuilder;
 import jkind.solvers.Solver;
+import jkind.solvers.SolverPool;
 import jkind.solvers.cvc4.Cvc4Solver;
 import jkind.solvers.mathsat.MathSatSolver;
 import jkind.solvers.smtinterpol.SmtInterpolSolver;
+import jkind.solvers.smtlib2.SmtLib2Solver;
 import jkind.solvers.yices.YicesSolver;
 import jkind.solvers.yices2.Yices2Solver;
 import jkind.solvers.z3.Z3Solver;
@@ -38,14 +41,46 @@ public class SolverUtil {
 		throw new IllegalArgumentException("Unknown solver: " + solverOption);
 	}
 
+	/**
+	 * Get an initialized solver with the prelude applied, reusing a solver
+	 * process from the pool when the solver supports it
+	 */
+	public static Solver getPooledSolver(SolverOption solverOption, Node node, String preludeKey,
+			Consumer<Solver> prelude) {
+		switch (solverOption) {
+		case CVC4:
+		case YICES2:
+		case MATHSAT:
+			return SolverPool.getInstance().acquire(solverOption.toString(),
+					() -> (SmtLib2Solver) getSolver(solverOption, null, node), preludeKey, prelude);
+		case Z3:
+			boolean linear = LinearChecker.isLinear(node);
+			return SolverPool.getInstance().acquire(solverOption + (linear ? "-linear" : ""),
+					() -> new Z3Solver(null, linear), preludeKey, prelude);
+		default:
+			Solver solver = getSolver(solverOption, null, node);
+			solver.initialize();
+			prelude.accept(solver);
+			return solver;
+		}
+	}
+
 	public static Solver getBasicSolver(SolverOption solverOption) {
 		Node emptyNode = new NodeBuilder("empty").build();
 		return getSolver(solverOption, null, emptyNode);
 	}
 
+	/**
+	 * Check that the solver can be started, throwing a JKindException if not.
+	 * The solver started for the check is stopped again.
+	 */
+	public static void checkAvailable(SolverOption solverOption) {
+		getBasicSolver(solverOption).stop();
+	}
+
 	public static boolean solverIsAvailable(SolverOption solverOption) {
 		try {
-			getBasicSolver(solverOption);
+			checkAvailable(solverOption);
 		} catch (JKindException e) {
 			return false;
 		}
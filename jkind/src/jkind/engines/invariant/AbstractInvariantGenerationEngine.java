@@ -1,9 +1,12 @@
 package jkind.engines.invariant;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import jkind.JKindSettings;
+import jkind.SolverOption;
 import jkind.engines.Director;
 import jkind.engines.SolverBasedEngine;
 import jkind.engines.StopException;
@@ -16,23 +19,34 @@ import jkind.engines.messages.UnknownMessage;
 import jkind.engines.messages.ValidMessage;
 import jkind.lustre.Expr;
 import jkind.lustre.IdExpr;
+import jkind.lustre.values.Value;
+import jkind.lustre.visitors.CompiledExpr;
+import jkind.lustre.visitors.Evaluator;
+import jkind.lustre.visitors.ExprCompiler;
 import jkind.sexp.Cons;
 import jkind.sexp.Sexp;
 import jkind.solvers.Model;
-import jkind.solvers.ModelEvaluator;
 import jkind.solvers.Result;
 import jkind.solvers.UnsatResult;
 import jkind.translation.Specification;
 import jkind.util.SexpUtil;
+import jkind.util.StreamIndex;
 
 public abstract class AbstractInvariantGenerationEngine extends SolverBasedEngine {
 	private final InvariantSet provenInvariants = new InvariantSet();
+	private ExprCompiler compiler;
+	private final Map<Expr, CompiledExpr> compiled = new IdentityHashMap<>();
 
 	public AbstractInvariantGenerationEngine(String name, Specification spec,
 			JKindSettings settings, Director director) {
 		super(name, spec, settings, director);
 	}
 
+	public AbstractInvariantGenerationEngine(String name, Specification spec,
+			JKindSettings settings, Director director, SolverOption solver) {
+		super(name, spec, settings, director, solver);
+	}
+
 	@Override
 	public void main() {
 		StructuredInvariant invariant = createInitialInvariant();
@@ -45,6 +59,7 @@ public abstract class AbstractInvariantGenerationEngine extends SolverBasedEngin
 		createVariables(0);
 		for (int k = 1; k <= settings.n; k++) {
 			comment("K = " + k);
+			setK(k);
 
 			refineBaseStep(k - 1, invariant);
 			if (invariant.isTrivial()) {
@@ -71,7 +86,7 @@ public abstract class AbstractInvariantGenerationEngine extends SolverBasedEngin
 			checkForStop();
 
 			Sexp query = SexpUtil.conjoinInvariants(invariant.toExprs(), k);
-			result = solver.query(query);
+			result = solver.lazyQuery(query);
 
 			if (!(result instanceof UnsatResult)) {
 				Model model = getModel(result);
@@ -79,7 +94,7 @@ public abstract class AbstractInvariantGenerationEngine extends SolverBasedEngin
 					comment("No model - unable to continue");
 					throw new StopException();
 				}
-				invariant.refine(new ModelEvaluator(model, k));
+				invariant.refine(new CompiledModelEvaluator(model, k));
 				comment("Finished single base step refinement");
 			}
 		} while (!invariant.isTrivial() && !(result instanceof UnsatResult));
@@ -100,7 +115,7 @@ public abstract class AbstractInvariantGenerationEngine extends SolverBasedEngin
 		do {
 			checkForStop();
 
-			result = solver.query(getInductiveQuery(k, invariant));
+			result = solver.lazyQuery(getInductiveQuery(k, invariant));
 
 			if (!(result instanceof UnsatResult)) {
 				Model model = getModel(result);
@@ -108,7 +123,7 @@ public abstract class AbstractInvariantGenerationEngine extends SolverBasedEngin
 					comment("No model - unable to continue");
 					throw new StopException();
 				}
-				invariant.refine(new ModelEvaluator(model, k));
+				invariant.refine(new CompiledModelEvaluator(model, k));
 				comment("Finished single inductive step refinement");
 			}
 		} while (!invariant.isTrivial() && !(result instanceof UnsatResult));
@@ -124,6 +139,62 @@ public abstract class AbstractInvariantGenerationEngine extends SolverBasedEngin
 		return;
 	}
 
+	/**
+	 * Candidates are evaluated many times during refinement, so they are
+	 * compiled once and cached by identity
+	 */
+	protected CompiledExpr compile(Expr candidate) {
+		return compiled.computeIfAbsent(candidate, getCompiler()::compile);
+	}
+
+	protected ExprCompiler getCompiler() {
+		if (compiler == null) {
+			compiler = new ExprCompiler(spec.typeMap);
+		}
+		return compiler;
+	}
+
+	/**
+	 * Evaluates candidates at one step of a model, fetching each variable from
+	 * the model at most once
+	 */
+	private class CompiledModelEvaluator extends Evaluator {
+		private final Model model;
+		private final int index;
+		private final Value[] values;
+		private final boolean[] fetched;
+
+		public CompiledModelEvaluator(Model model, int index) {
+			this.model = model;
+			this.index = index;
+			int size = getCompiler().getVariables().size();
+			this.values = new Value[size];
+			this.fetched = new boolean[size];
+		}
+
+		@Override
+		public Value eval(Expr e) {
+			return compile(e).eval(this::fetch);
+		}
+
+		private Value fetch(int slot) {
+			if (!fetched[slot]) {
+				values[slot] = getValue(getCompiler().getVariables().get(slot));
+				fetched[slot] = true;
+			}
+			return values[slot];
+		}
+
+		private Value getValue(String id) {
+			return model.getValue(new StreamIndex(id, index));
+		}
+
+		@Override
+		public Value visit(IdExpr e) {
+			return getValue(e.id);
+		}
+	}
+
 	private void assertInvariants(InvariantSet set, int i) {
 		solver.assertSexp(SexpUtil.conjoinInvariants(set.getInvariants(), i));
 	}
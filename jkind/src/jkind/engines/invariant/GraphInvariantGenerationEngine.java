@@ -1,24 +1,123 @@
 package jkind.engines.invariant;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
 
 import jkind.JKindSettings;
+import jkind.SolverOption;
 import jkind.engines.Director; 
 import jkind.lustre.Expr;
+import jkind.lustre.IdExpr;
+import jkind.lustre.values.BooleanValue;
+import jkind.lustre.values.Value;
+import jkind.lustre.visitors.CompiledExpr;
+import jkind.lustre.visitors.Evaluator;
 import jkind.translation.Specification;
 
 public class GraphInvariantGenerationEngine extends AbstractInvariantGenerationEngine {
 	public static final String NAME = "invariant-generation";
+	private static final long SIMULATION_MILLIS = 2000;
 	
 	public GraphInvariantGenerationEngine(Specification spec, JKindSettings settings,
 			Director director) {
 		super(NAME, spec, settings, director);
 	}
 
+	public GraphInvariantGenerationEngine(Specification spec, JKindSettings settings,
+			Director director, SolverOption solver) {
+		super(NAME, spec, settings, director, solver);
+	}
+
 	@Override
 	protected GraphInvariant createInitialInvariant() {
 		List<Expr> candidates = new CandidateGenerator(spec).generate();
 		comment("Proposed " + candidates.size() + " candidates");
-		return new GraphInvariant(candidates);
+		GraphInvariant invariant = new GraphInvariant(candidates);
+		if (settings.simulationTraces > 0) {
+			simulate(candidates, invariant);
+		}
+		return invariant;
+	}
+
+	/**
+	 * Split the candidates on randomly simulated states before using the
+	 * solver. Each state is reduced to the bit vector of its candidate values,
+	 * and the invariant is refined only once per distinct vector. Both steps
+	 * share a time limit since large models have many distinct vectors.
+	 */
+	private void simulate(List<Expr> candidates, GraphInvariant invariant) {
+		long deadline = System.currentTimeMillis() + SIMULATION_MILLIS;
+		List<CompiledExpr> compiledCandidates = new ArrayList<>();
+		for (Expr candidate : candidates) {
+			compiledCandidates.add(compile(candidate));
+		}
+		Set<BitSet> signatures = new LinkedHashSet<>();
+		int[] states = new int[1];
+		new RandomSimulator(spec).simulate(settings.simulationTraces, deadline, state -> {
+			signatures.add(getSignature(compiledCandidates, state));
+			states[0]++;
+		});
+
+		Map<Expr, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < candidates.size(); i++) {
+			indices.put(candidates.get(i), i);
+		}
+		int refinements = 0;
+		for (BitSet signature : signatures) {
+			if (System.currentTimeMillis() >= deadline) {
+				break;
+			}
+			invariant.refine(new SignatureEvaluator(indices, signature));
+			refinements++;
+		}
+		comment("Simulated " + states[0] + " states with " + signatures.size()
+				+ " distinct candidate values, refined with " + refinements);
+	}
+
+	private BitSet getSignature(List<CompiledExpr> candidates, Map<String, Value> state) {
+		List<String> variables = getCompiler().getVariables();
+		Value[] values = new Value[variables.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = state.get(variables.get(i));
+		}
+
+		IntFunction<Value> lookup = slot -> values[slot];
+
+		BitSet signature = new BitSet(candidates.size());
+		for (int i = 0; i < candidates.size(); i++) {
+			if (candidates.get(i).eval(lookup) == BooleanValue.TRUE) {
+				signature.set(i);
+			}
+		}
+		return signature;
+	}
+
+	/**
+	 * Evaluates candidates by looking up their precomputed values
+	 */
+	private static class SignatureEvaluator extends Evaluator {
+		private final Map<Expr, Integer> indices;
+		private final BitSet signature;
+
+		public SignatureEvaluator(Map<Expr, Integer> indices, BitSet signature) {
+			this.indices = indices;
+			this.signature = signature;
+		}
+
+		@Override
+		public Value eval(Expr e) {
+			return BooleanValue.fromBoolean(signature.get(indices.get(e)));
+		}
+
+		@Override
+		public Value visit(IdExpr e) {
+			throw new IllegalArgumentException();
+		}
 	}
 }
@@ -0,0 +1,281 @@
+package jkind.engines.invariant;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import jkind.lustre.BinaryExpr;
+import jkind.lustre.BinaryOp;
+import jkind.lustre.EnumType;
+import jkind.lustre.Equation;
+import jkind.lustre.Expr;
+import jkind.lustre.Function;
+import jkind.lustre.FunctionCallExpr;
+import jkind.lustre.IdExpr;
+import jkind.lustre.LustreUtil;
+import jkind.lustre.NamedType;
+import jkind.lustre.SubrangeIntType;
+import jkind.lustre.Type;
+import jkind.lustre.UnaryExpr;
+import jkind.lustre.UnaryOp;
+import jkind.lustre.values.BooleanValue;
+import jkind.lustre.values.IntegerValue;
+import jkind.lustre.values.RealValue;
+import jkind.lustre.values.Value;
+import jkind.lustre.visitors.Evaluator;
+import jkind.translation.Specification;
+import jkind.util.BigFraction;
+import jkind.util.Util;
+
+/**
+ * Runs a flattened node on random inputs to find reachable states without a
+ * solver. As in the solver encoding, the state before the first step is
+ * unconstrained apart from types, uninterpreted functions take arbitrary
+ * (but consistent) values, and a trace ends as soon as an assertion or a
+ * type constraint fails.
+ */
+public class RandomSimulator {
+	private static final int TRACE_LENGTH = 20;
+	private static final int SMALL_RANGE = 10;
+	private static final int LARGE_RANGE = 1000;
+
+	private final Map<String, Type> typeMap;
+	private final Map<String, Expr> equations = new HashMap<>();
+	private final List<String> order;
+	private final List<Expr> assertions;
+	private final Map<String, Function> functions = new HashMap<>();
+	private final Random random = new Random(0);
+
+	public RandomSimulator(Specification spec) {
+		this.typeMap = spec.typeMap;
+		for (Equation eq : spec.node.equations) {
+			equations.put(eq.lhs.get(0).id, eq.expr);
+		}
+		this.order = getEvaluationOrder(spec.node);
+		this.assertions = new ArrayList<>(spec.node.assertions);
+		for (String id : typeMap.keySet()) {
+			Expr constraint = LustreUtil.typeConstraint(id, typeMap.get(id));
+			if (constraint != null) {
+				assertions.add(constraint);
+			}
+		}
+		for (Function fn : spec.functions) {
+			functions.put(fn.id, fn);
+		}
+	}
+
+	/**
+	 * Order variables so that the variables they use at the same step come
+	 * first. Models may contain syntactic loops which never occur at runtime,
+	 * so back edges are skipped and those variables are evaluated on demand.
+	 */
+	private static List<String> getEvaluationOrder(jkind.lustre.Node node) {
+		Map<String, Set<String>> dependencies = Util.getDirectDependencies(node);
+		List<String> order = new ArrayList<>();
+		Set<String> visited = new HashSet<>();
+		Deque<String> path = new ArrayDeque<>();
+		Deque<Iterator<String>> pending = new ArrayDeque<>();
+
+		for (String root : dependencies.keySet()) {
+			if (!visited.add(root)) {
+				continue;
+			}
+			path.push(root);
+			pending.push(dependencies.get(root).iterator());
+
+			while (!path.isEmpty()) {
+				Iterator<String> iterator = pending.peek();
+				if (iterator.hasNext()) {
+					String next = iterator.next();
+					if (dependencies.containsKey(next) && visited.add(next)) {
+						path.push(next);
+						pending.push(dependencies.get(next).iterator());
+					}
+				} else {
+					order.add(path.pop());
+					pending.pop();
+				}
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Run random traces and pass each reachable state to the consumer. A trace
+	 * also ends early when it cannot be evaluated, e.g., on division by zero.
+	 * No new traces are started after the deadline.
+	 */
+	public void simulate(int traces, long deadline, Consumer<Map<String, Value>> consumer) {
+		for (int i = 0; i < traces && System.currentTimeMillis() < deadline; i++) {
+			try {
+				simulateTrace(consumer);
+			} catch (SimulationException | ArithmeticException e) {
+				// Keep the states found before the failure
+			}
+		}
+	}
+
+	private void simulateTrace(Consumer<Map<String, Value>> consumer) {
+		Map<List<Object>, Value> functionTable = new HashMap<>();
+		Map<String, Value> prev = randomState();
+		for (int step = 0; step < TRACE_LENGTH; step++) {
+			Map<String, Value> state = new StepEvaluator(step, prev, functionTable).evalState();
+			if (state == null) {
+				return;
+			}
+
+			consumer.accept(state);
+			prev = state;
+		}
+	}
+
+	private Map<String, Value> randomState() {
+		Map<String, Value> state = new HashMap<>();
+		for (String id : typeMap.keySet()) {
+			state.put(id, randomValue(typeMap.get(id)));
+		}
+		return state;
+	}
+
+	private Value randomValue(Type type) {
+		if (type == NamedType.BOOL) {
+			return BooleanValue.fromBoolean(random.nextBoolean());
+		} else if (type == NamedType.INT) {
+			return new IntegerValue(BigInteger.valueOf(randomInt()));
+		} else if (type == NamedType.REAL) {
+			return new RealValue(new BigFraction(BigInteger.valueOf(randomInt())));
+		} else if (type instanceof SubrangeIntType) {
+			SubrangeIntType subrange = (SubrangeIntType) type;
+			BigInteger size = subrange.high.subtract(subrange.low).add(BigInteger.ONE);
+			int bound = size.min(BigInteger.valueOf(Integer.MAX_VALUE)).intValue();
+			return new IntegerValue(subrange.low.add(BigInteger.valueOf(random.nextInt(bound))));
+		} else if (type instanceof EnumType) {
+			EnumType et = (EnumType) type;
+			return new IntegerValue(BigInteger.valueOf(random.nextInt(et.values.size())));
+		} else {
+			throw new SimulationException();
+		}
+	}
+
+	/**
+	 * Mostly small values, which are more likely to hit boundary cases in the
+	 * node, and occasionally larger ones
+	 */
+	private int randomInt() {
+		int range = random.nextInt(8) == 0 ? LARGE_RANGE : SMALL_RANGE;
+		return random.nextInt(2 * range + 1) - range;
+	}
+
+	private class StepEvaluator extends Evaluator {
+		private final int step;
+		private final Map<String, Value> prev;
+		private final Map<List<Object>, Value> functionTable;
+		private final Map<String, Value> state = new HashMap<>();
+		private final Set<String> evaluating = new HashSet<>();
+		private boolean inPre = false;
+
+		public StepEvaluator(int step, Map<String, Value> prev, Map<List<Object>, Value> functionTable) {
+			this.step = step;
+			this.prev = prev;
+			this.functionTable = functionTable;
+		}
+
+		/**
+		 * Compute the state for this step, or null if it violates an assertion
+		 * or a type constraint
+		 */
+		public Map<String, Value> evalState() {
+			for (String id : order) {
+				eval(id);
+			}
+			for (String id : typeMap.keySet()) {
+				eval(id);
+			}
+
+			for (Expr assertion : assertions) {
+				if (eval(assertion) != BooleanValue.TRUE) {
+					return null;
+				}
+			}
+
+			return state;
+		}
+
+		private Value eval(String id) {
+			Value value = state.get(id);
+			if (value != null) {
+				return value;
+			}
+
+			Expr expr = equations.get(id);
+			if (expr == null) {
+				value = randomValue(typeMap.get(id));
+			} else if (evaluating.add(id)) {
+				value = eval(expr);
+				evaluating.remove(id);
+			}
+
+			if (value == null) {
+				throw new SimulationException();
+			}
+			state.put(id, value);
+			return value;
+		}
+
+		@Override
+		public Value visit(IdExpr e) {
+			if (inPre) {
+				return prev.get(e.id);
+			}
+			return eval(e.id);
+		}
+
+		@Override
+		public Value visit(BinaryExpr e) {
+			if (e.op == BinaryOp.ARROW) {
+				int current = inPre ? step - 1 : step;
+				return current == 0 ? eval(e.left) : eval(e.right);
+			}
+			return super.visit(e);
+		}
+
+		@Override
+		public Value visit(UnaryExpr e) {
+			if (e.op == UnaryOp.PRE) {
+				boolean outer = inPre;
+				inPre = true;
+				Value value = eval(e.expr);
+				inPre = outer;
+				return value;
+			}
+			return super.visit(e);
+		}
+
+		@Override
+		public Value visit(FunctionCallExpr e) {
+			Function fn = functions.get(e.function);
+			List<Value> args = visitExprs(e.args);
+			if (fn == null || args == null) {
+				throw new SimulationException();
+			}
+
+			List<Object> key = new ArrayList<>();
+			key.add(fn.id);
+			key.addAll(args);
+			return functionTable.computeIfAbsent(key, k -> randomValue(fn.outputs.get(0).type));
+		}
+	}
+
+	private static class SimulationException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+	}
+}
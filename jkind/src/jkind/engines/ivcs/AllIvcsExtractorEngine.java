@@ -8,6 +8,11 @@ import java.util.Collection;
 import java.util.HashSet; 
 import java.util.List; 
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import jkind.ExitCodes;
 import jkind.JKindException;
@@ -23,6 +28,7 @@ import jkind.engines.messages.EngineType;
 import jkind.engines.messages.InductiveCounterexampleMessage;
 import jkind.engines.messages.InvalidMessage;
 import jkind.engines.messages.InvariantMessage;
+import jkind.engines.messages.IvcFoundMessage;
 import jkind.engines.messages.Itinerary;
 import jkind.engines.messages.UnknownMessage;
 import jkind.engines.messages.ValidMessage;  
@@ -104,9 +110,9 @@ public class AllIvcsExtractorEngine extends SolverBasedEngine {
 		Sexp map;
 		List<Symbol> seed = new ArrayList<Symbol>(); 
 		Set<String> mustChckList = new HashSet<>(); 
-		Set<String> resultOfIvcFinder = new HashSet<>();
 		List<String> inv = vm.invariants.stream().map(Object::toString).collect(toList());  
 		allIvcs.add(new Tuple<Set<String>, List<String>>(vm.ivc, inv));
+		director.receiveMessage(new IvcFoundMessage(property.toString(), vm.ivc, inv));
 		
 		seed.addAll(IvcUtil.getIvcLiterals(ivcMap, new ArrayList<>(vm.ivc)));
 		map = blockUp(seed);  
@@ -115,20 +121,58 @@ public class AllIvcsExtractorEngine extends SolverBasedEngine {
 		map = new Cons("and", map, ivcMap.get(property.toString())); 
 		z3Solver.push();
 
-		while(checkMapSatisfiability(map, seed, mustChckList)){
-			resultOfIvcFinder.clear(); 
-			if (ivcFinder(seed, resultOfIvcFinder, mustChckList, property.toString())){
-				map = new Cons("and", map, blockUp(IvcUtil.getIvcLiterals(ivcMap, resultOfIvcFinder)));
-			}else{
-				map = new Cons("and", map, blockDown(IvcUtil.getIvcLiterals(ivcMap, resultOfIvcFinder))); 
+		// The map solver stays on this thread and hands seeds to the workers
+		ExecutorService pool = Executors.newFixedThreadPool(settings.allIvcsWorkers);
+		CompletionService<SeedResult> workers = new ExecutorCompletionService<>(pool);
+		int pending = 0;
+		boolean mapExhausted = false;
+		try {
+			while (true) {
+				while (!mapExhausted && pending < settings.allIvcsWorkers) {
+					if (!checkMapSatisfiability(map, seed, mustChckList)) {
+						mapExhausted = true;
+						break;
+					}
+					List<String> deactivate = getDeactivated(seed);
+					if (settings.scratch){
+						comment("Sending a request for a new IVC while deactivating "+ IvcUtil.getIvcLiterals(ivcMap, deactivate));
+					}
+					// The clause learned from this seed will block it, so block
+					// it right away to hand a different seed to the next worker
+					map = new Cons("and", map, blockExactly(seed));
+					workers.submit(() -> checkSeed(deactivate, property.toString()));
+					pending++;
+				}
+
+				if (pending == 0) {
+					break;
+				}
+				SeedResult result = workers.take().get();
+				pending--;
+				map = new Cons("and", map, merge(result, mustChckList, property.toString()));
 			}
-		} 
+		} catch (InterruptedException | ExecutionException e) {
+			throw new JKindException("Error while enumerating inductive validity cores", e);
+		} finally {
+			pool.shutdownNow();
+		}
 		
 		z3Solver.pop(); 				
 		sendValid(property.toString(), vm);
 	}
 
-	private boolean ivcFinder(List<Symbol> seed, Set<String> resultOfIvcFinder, Set<String> mustChckList, String property) {
+	private List<String> getDeactivated(List<Symbol> seed) {
+		Set <String> wantedElem = IvcUtil.getIvcNames(ivcMap, new ArrayList<> (seed)); 
+		List<String> deactivate = new ArrayList<>();
+		deactivate.addAll(ivcMap.keyList());
+		deactivate.removeAll(wantedElem);
+		return deactivate;
+	}
+
+	/**
+	 * Run on a worker thread, so it must not touch the state of the engine
+	 */
+	private SeedResult checkSeed(List<String> deactivate, String property) {
 		JKindSettings js = new JKindSettings();
 		js.reduceIvc = true; 
 		js.timeout = TIMEOUT; 
@@ -137,41 +181,45 @@ public class AllIvcsExtractorEngine extends SolverBasedEngine {
 		js.slicing = settings.slicing; 
 		js.pdrMax = settings.pdrMax;
 		js.boundedModelChecking = settings.boundedModelChecking;
-        js.miniJkind = true;
-		
-		Set <String> wantedElem = IvcUtil.getIvcNames(ivcMap, new ArrayList<> (seed)); 
-		List<String> deactivate = new ArrayList<>();
-		deactivate.addAll(ivcMap.keyList());
-		deactivate.removeAll(wantedElem);
+		js.solver = settings.solver;
+		js.solverPool = settings.solverPool;
+		js.miniJkind = true;
 		
 		Node nodeSpec = IvcUtil.unassign(spec.node, deactivate, property);  
 		Specification newSpec = new Specification(new Program(nodeSpec), js.slicing);   
-		if (settings.scratch){
-			comment("Sending a request for a new IVC while deactivating "+ IvcUtil.getIvcLiterals(ivcMap, deactivate));
-		}
 		MiniJKind miniJkind = new MiniJKind (newSpec, js);
 		miniJkind.verify();
-		if(miniJkind.getPropertyStatus().equals(MiniJKind.UNKNOWN)){
-			timedoutLoop  = true;
-		}
+		boolean retried = false;
 		if(miniJkind.getPropertyStatus().equals(MiniJKind.UNKNOWN_WITH_EXCEPTION)){
 			js.pdrMax = 0;
-			return retryVerification(newSpec, property, js, resultOfIvcFinder, mustChckList, deactivate);
+			retried = true;
+			miniJkind = new MiniJKind (newSpec, js);
+			miniJkind.verify();
 		}
-		else if(miniJkind.getPropertyStatus().equals(MiniJKind.VALID)){
+		return new SeedResult(deactivate, miniJkind, retried);
+	}
+
+	private Sexp merge(SeedResult result, Set<String> mustChckList, String property) {
+		List<String> deactivate = result.deactivate;
+		if (result.retried && settings.scratch){
+			comment("Result was UNKNOWN; Resend the request with pdrMax = 0 ...");
+		}
+		if(result.status.equals(MiniJKind.UNKNOWN)){
+			timedoutLoop  = true;
+		}
+
+		if(result.status.equals(MiniJKind.VALID)){
 			mayElements.addAll(deactivate);
 			mustChckList.removeAll(deactivate);
 			
-			resultOfIvcFinder.addAll(miniJkind.getPropertyIvc());
-			Set<String> newIvc = IvcUtil.trimNode(resultOfIvcFinder);
+			Set<String> newIvc = IvcUtil.trimNode(result.ivc);
 			
 			if (settings.scratch){
-				comment("New IVC set found: "+ IvcUtil.getIvcLiterals(ivcMap, resultOfIvcFinder));
+				comment("New IVC set found: "+ IvcUtil.getIvcLiterals(ivcMap, result.ivc));
 			} 
 			
 			Set<Tuple<Set<String>, List<String>>> temp = new HashSet<>();
-			 
-			
+			boolean subsumed = false;
 			for(Tuple<Set<String>, List<String>> curr: allIvcs){  
 				Set<String> trimmed = IvcUtil.trimNode(curr.firstElement());
 				if (trimmed.containsAll(newIvc)){
@@ -181,21 +229,23 @@ public class AllIvcsExtractorEngine extends SolverBasedEngine {
 				//         while processing mustChckList after finding all IVC sets
 				//         if we have different instances of a node in the Lustre file
 				else if (newIvc.containsAll(trimmed)){
-					return true;
+					subsumed = true;
+					break;
 				} 
 			} 
-			if(temp.isEmpty()){ 
+			if(!subsumed){ 
 				//director.handleConsistencyMessage(new ConsistencyMessage(miniJkind.getValidMessage()));
-				allIvcs.add(new Tuple<Set<String>, List<String>>(miniJkind.getPropertyIvc(), miniJkind.getPropertyInvariants()));
-			}
-			else{ 
 				allIvcs.removeAll(temp);
-				allIvcs.add(new Tuple<Set<String>, List<String>>(miniJkind.getPropertyIvc(), miniJkind.getPropertyInvariants()));
+				allIvcs.add(new Tuple<Set<String>, List<String>>(result.ivc, result.invariants));
+				// Another worker may have found the same core from a different seed
+				if (temp.stream().noneMatch(curr -> IvcUtil.trimNode(curr.firstElement()).equals(newIvc))) {
+					director.receiveMessage(new IvcFoundMessage(property, result.ivc, result.invariants));
+				}
 			} 
-			return true;
+			return blockUp(IvcUtil.getIvcLiterals(ivcMap, result.ivc));
 		}
 		else{	
-			resultOfIvcFinder.addAll(deactivate); 
+			Sexp block = blockDown(IvcUtil.getIvcLiterals(ivcMap, deactivate));
 			if (settings.scratch){
 				comment("Property got violated. Adding back the elements");
 			}
@@ -208,85 +258,37 @@ public class AllIvcsExtractorEngine extends SolverBasedEngine {
 				}
 			}
 			else{
-				deactivate.removeAll(mustElements);
-				deactivate.removeAll(mayElements);
+				List<String> candidates = new ArrayList<>(deactivate);
+				candidates.removeAll(mustElements);
+				candidates.removeAll(mayElements);
 				if (settings.scratch){
-					comment(IvcUtil.getIvcLiterals(ivcMap, deactivate) + " could be MUST elements; added to the check list...");
+					comment(IvcUtil.getIvcLiterals(ivcMap, candidates) + " could be MUST elements; added to the check list...");
 				}
 			 
-				mustChckList.addAll(deactivate);
+				mustChckList.addAll(candidates);
 			} 
-			return false;
+			return block;
 		} 
 	}
 
-	private boolean retryVerification(Specification newSpec, String prop, JKindSettings js, Set<String> resultOfIvcFinder,
-			Set<String> mustChckList, List<String> deactivate) {
-		if (settings.scratch){
-			comment("Result was UNKNOWN; Resend the request with pdrMax = 0 ...");
-		}
-		MiniJKind miniJkind = new MiniJKind (newSpec, js);
-		miniJkind.verify();
-		if(miniJkind.getPropertyStatus().equals(MiniJKind.UNKNOWN)){
-			timedoutLoop  = true;
-		}
-		if(miniJkind.getPropertyStatus().equals(MiniJKind.VALID)){
-			mayElements.addAll(deactivate);
-			mustChckList.removeAll(deactivate);
-			
-			resultOfIvcFinder.addAll(miniJkind.getPropertyIvc());
-			Set<String> newIvc = IvcUtil.trimNode(resultOfIvcFinder);
-			
-			if (settings.scratch){
-				comment("New IVC set found: "+ IvcUtil.getIvcLiterals(ivcMap, resultOfIvcFinder));
-			} 
-			
-			Set<Tuple<Set<String>, List<String>>> temp = new HashSet<>();
-			for(Tuple<Set<String>, List<String>> curr: allIvcs){  
-				Set<String> trimmed = IvcUtil.trimNode(curr.firstElement());
-				if (trimmed.containsAll(newIvc)){
-					temp.add(curr);  
-				} 
-				else if (newIvc.containsAll(trimmed)){
-					return true;
-				} 
-			}
-			
-			if(temp.isEmpty()){ 
-				//director.handleConsistencyMessage(new ConsistencyMessage(miniJkind.getValidMessage()));
-				allIvcs.add(new Tuple<Set<String>, List<String>>(miniJkind.getPropertyIvc(), miniJkind.getPropertyInvariants()));
-			}
-			else{
-				allIvcs.removeAll(temp);
-				allIvcs.add(new Tuple<Set<String>, List<String>>(miniJkind.getPropertyIvc(), miniJkind.getPropertyInvariants()));
-			}
- 
-			return true;
+	/**
+	 * The outcome of checking one seed, collected on a worker thread
+	 */
+	private static class SeedResult {
+		private final List<String> deactivate;
+		private final String status;
+		private final Set<String> ivc;
+		private final List<String> invariants;
+		private final boolean retried;
+
+		public SeedResult(List<String> deactivate, MiniJKind miniJkind, boolean retried) {
+			this.deactivate = deactivate;
+			this.status = miniJkind.getPropertyStatus();
+			boolean valid = status.equals(MiniJKind.VALID);
+			this.ivc = valid ? miniJkind.getPropertyIvc() : null;
+			this.invariants = valid ? miniJkind.getPropertyInvariants() : null;
+			this.retried = retried;
 		}
-		else{
-			resultOfIvcFinder.addAll(deactivate); 
-			if (settings.scratch){
-				comment("Property got violated. Adding back the elements");
-			}
-			
-			if(deactivate.size() == 1){
-				mustElements.addAll(deactivate);
-				mustChckList.removeAll(deactivate);
-				if (settings.scratch){
-					comment("One MUST element was found: "+ IvcUtil.getIvcLiterals(ivcMap, deactivate));
-				}
-			}
-			else{
-				deactivate.removeAll(mustElements);
-				deactivate.removeAll(mayElements);
-				if (settings.scratch){
-					comment(IvcUtil.getIvcLiterals(ivcMap, deactivate) + " could be MUST elements; added to the check list...");
-				}
-			 
-				mustChckList.addAll(deactivate);
-			}
-			return false;
-		} 
 	}
 
 	private Sexp blockUp(Collection<Symbol> list) {
@@ -297,6 +299,12 @@ public class AllIvcsExtractorEngine extends SolverBasedEngine {
 		return SexpUtil.disjoin(ret);
 	}
 	
+	private Sexp blockExactly(Collection<Symbol> seed) {
+		List<Symbol> others = new ArrayList<>(ivcMap.valueList());
+		others.removeAll(seed);
+		return new Cons("or", blockUp(seed), blockDown(others));
+	}
+	
 	private Sexp blockDown(Collection<Symbol> list) {
 		List<Sexp> ret = new ArrayList<>();
 		for(Symbol literal : list){
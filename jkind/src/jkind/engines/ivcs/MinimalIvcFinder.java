@@ -1,61 +1,233 @@
-package jkind.engines.ivcs;  
-import java.util.HashSet; 
-import java.util.Set; 
-import jkind.JKindSettings; 
-import jkind.engines.MiniJKind;  
+package jkind.engines.ivcs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jkind.JKindException;
+import jkind.JKindSettings;
+import jkind.SolverOption;
+import jkind.engines.MiniJKind;
 import jkind.lustre.Node;
 import jkind.lustre.Program;
-import jkind.translation.Specification;  
+import jkind.translation.Specification;
 
-public class MinimalIvcFinder { 
-	private Node node;  
+/**
+ * Close the finder once done to stop the threads verifying candidates
+ */
+public class MinimalIvcFinder implements AutoCloseable {
+	private Node node;
 	private String property;
-	
-	public MinimalIvcFinder(Program program, String property){
-	    this.node = program.getMainNode();
-	    this.property = property;
+	private int threads = 1;
+	private SolverOption solver = SolverOption.SMTINTERPOL;
+	private boolean solverPool = false;
+	private ExecutorService pool;
+	private final List<Check> checks = new ArrayList<>();
+
+	public MinimalIvcFinder(Program program, String property) {
+		this.node = program.getMainNode();
+		this.property = property;
+	}
+
+	/**
+	 * Number of candidates verified concurrently, each by its own MiniJKind.
+	 * Set this before minimizing, since the threads are created once and then
+	 * reused.
+	 */
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Solver used by each MiniJKind, and whether it comes from the SolverPool
+	 */
+	public void setSolver(SolverOption solver, boolean solverPool) {
+		this.solver = solver;
+		this.solverPool = solverPool;
 	}
 
-	public Set<String> minimizeIvc(Set<String> candidates, Set<String> mustElements, int timeout) {  
+	/**
+	 * The verifications made so far, in the order they finished
+	 */
+	public synchronized List<Check> getChecks() {
+		return new ArrayList<>(checks);
+	}
+
+	public Set<String> minimizeIvc(Set<String> candidates, Set<String> mustElements, int timeout) {
 		Set<String> minimal = new HashSet<>(candidates);
-		JKindSettings js = new JKindSettings(); 
-		//js.noSlicing = true;   
-		js.allAssigned = false;
-		js.miniJkind = true; 
-		js.timeout = timeout; 
-		for (String s : candidates) {  
-			Program candidate = new Program(IvcUtil.unassign(node, s, property));
-	
-			MiniJKind miniJkind = new MiniJKind (new Specification(candidate, js.slicing), js);
-			miniJkind.verify();
-			if (miniJkind.getPropertyStatus() == MiniJKind.VALID) {
-				minimal.remove(s);
-				node = candidate.getMainNode();
+		Deque<String> remaining = new ArrayDeque<>(candidates);
+		while (!remaining.isEmpty()) {
+			List<String> batch = new ArrayList<>();
+			while (batch.size() < threads && !remaining.isEmpty()) {
+				batch.add(remaining.poll());
+			}
+
+			// Unassigning more equations only weakens the node, so a candidate
+			// needed now is still needed once others have been removed
+			List<Boolean> valid = verifyEach(batch, timeout);
+			List<String> removable = new ArrayList<>();
+			for (int i = 0; i < batch.size(); i++) {
+				if (valid.get(i)) {
+					removable.add(batch.get(i));
+				}
+			}
+
+			if (removable.size() == 1) {
+				remove(removable, minimal);
+			} else if (removable.size() > 1 && !tryRemove(removable, minimal, timeout)) {
+				// Each can be removed alone but not all together
+				remove(removable.subList(0, 1), minimal);
+				for (int i = removable.size() - 1; i > 0; i--) {
+					remaining.addFirst(removable.get(i));
+				}
 			}
-			miniJkind = null;
 		}
 		minimal.addAll(mustElements);
 		minimal = IvcUtil.trimNode(minimal);
 		return minimal;
 	}
-	
-	public Set<String> computeMust(Set<String> candidates, int timeout) { 
+
+	/**
+	 * Minimize by trying to remove whole chunks of candidates at once, in the
+	 * style of QuickXplain. Chunks which cannot be removed are split in half
+	 * until single necessary candidates remain. This needs far fewer
+	 * verifications than minimizeIvc when most candidates are unnecessary.
+	 */
+	public Set<String> minimizeIvcDivideAndConquer(Set<String> candidates, Set<String> mustElements,
+			int timeout) {
+		Set<String> minimal = new HashSet<>(candidates);
+		removeChunk(new ArrayList<>(candidates), false, minimal, timeout);
+		minimal.addAll(mustElements);
+		minimal = IvcUtil.trimNode(minimal);
+		return minimal;
+	}
+
+	private boolean removeChunk(List<String> chunk, boolean knownNeeded, Set<String> minimal, int timeout) {
+		if (chunk.isEmpty()) {
+			return true;
+		}
+		if (!knownNeeded && tryRemove(chunk, minimal, timeout)) {
+			return true;
+		}
+		if (chunk.size() == 1) {
+			return false;
+		}
+
+		int half = chunk.size() / 2;
+		boolean firstRemoved = removeChunk(chunk.subList(0, half), false, minimal, timeout);
+		// If the first half went entirely, the second half cannot also go
+		removeChunk(chunk.subList(half, chunk.size()), firstRemoved, minimal, timeout);
+		return false;
+	}
+
+	public Set<String> computeMust(Set<String> candidates, int timeout) {
 		Set<String> must = new HashSet<>();
-		JKindSettings js = new JKindSettings(); 
-		//js.noSlicing = true;   
-		js.allAssigned = false;
-		js.miniJkind = true; 
-		js.timeout = timeout; 
-		for (String s : candidates) {    
-			Program candidate = new Program(IvcUtil.unassign(node, s, property));
-			MiniJKind miniJkind = new MiniJKind (new Specification(candidate, js.slicing), js);
-			miniJkind.verify();
-			if (miniJkind.getPropertyStatus() != MiniJKind.VALID) {
-				must.add(s);
+		List<String> list = new ArrayList<>(candidates);
+		List<Boolean> valid = verifyEach(list, timeout);
+		for (int i = 0; i < list.size(); i++) {
+			if (!valid.get(i)) {
+				must.add(list.get(i));
 			}
-			miniJkind = null;
-		} 
+		}
 		must = IvcUtil.trimNode(must);
 		return must;
-	}	
-}
\ No newline at end of file
+	}
+
+	private void remove(List<String> removed, Set<String> minimal) {
+		node = IvcUtil.unassign(node, removed, property);
+		minimal.removeAll(removed);
+	}
+
+	private boolean tryRemove(List<String> removed, Set<String> minimal, int timeout) {
+		Node candidate = IvcUtil.unassign(node, removed, property);
+		if (verify(candidate, removed, timeout)) {
+			node = candidate;
+			minimal.removeAll(removed);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Verify the current node without each one of the given candidates
+	 */
+	private List<Boolean> verifyEach(List<String> candidates, int timeout) {
+		List<Boolean> result = new ArrayList<>();
+		if (threads <= 1 || candidates.size() <= 1) {
+			for (String s : candidates) {
+				result.add(verify(IvcUtil.unassign(node, s, property), Collections.singletonList(s), timeout));
+			}
+			return result;
+		}
+
+		if (pool == null) {
+			pool = Executors.newFixedThreadPool(threads);
+		}
+
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (String s : candidates) {
+				Node candidate = IvcUtil.unassign(node, s, property);
+				futures.add(pool.submit(() -> verify(candidate, Collections.singletonList(s), timeout)));
+			}
+			for (Future<Boolean> future : futures) {
+				result.add(future.get());
+			}
+			return result;
+		} catch (InterruptedException | ExecutionException e) {
+			throw new JKindException("Error while minimizing inductive validity core", e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+	}
+
+	private boolean verify(Node candidate, List<String> removed, int timeout) {
+		// MiniJKind changes its settings, so each run gets its own
+		JKindSettings js = new JKindSettings();
+		js.allAssigned = false;
+		js.miniJkind = true;
+		js.timeout = timeout;
+		js.solver = solver;
+		js.solverPool = solverPool;
+
+		long start = System.currentTimeMillis();
+		MiniJKind miniJkind = new MiniJKind(new Specification(new Program(candidate), js.slicing), js);
+		miniJkind.verify();
+		String status = miniJkind.getPropertyStatus();
+		addCheck(new Check(removed, status, (System.currentTimeMillis() - start) / 1000.0));
+		return status == MiniJKind.VALID;
+	}
+
+	private synchronized void addCheck(Check check) {
+		checks.add(check);
+	}
+
+	/**
+	 * A single verification of the node without some candidates
+	 */
+	public static class Check {
+		public final List<String> removed;
+		public final String status;
+		public final double runtime;
+
+		public Check(List<String> removed, String status, double runtime) {
+			this.removed = new ArrayList<>(removed);
+			this.status = status;
+			this.runtime = runtime;
+		}
+	}
+}
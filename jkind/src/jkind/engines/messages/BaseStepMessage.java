@@ -5,10 +5,12 @@ import java.util.List;
 import jkind.util.Util;
 
 public class BaseStepMessage extends Message {
+	public final String source;
 	public final int step;
 	public final List<String> properties;
 
-	public BaseStepMessage(int step, List<String> properties) {
+	public BaseStepMessage(String source, int step, List<String> properties) {
+		this.source = source;
 		this.step = step;
 		this.properties = Util.safeList(properties);
 	}
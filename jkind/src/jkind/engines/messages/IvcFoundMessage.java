@@ -0,0 +1,27 @@
+package jkind.engines.messages;
+
+import java.util.List;
+import java.util.Set;
+
+import jkind.util.Util;
+
+/**
+ * An inductive validity core found while enumerating all of them for a
+ * property, sent before the enumeration finishes
+ */
+public class IvcFoundMessage extends Message {
+	public final String property;
+	public final Set<String> ivc;
+	public final List<String> invariants;
+
+	public IvcFoundMessage(String property, Set<String> ivc, List<String> invariants) {
+		this.property = property;
+		this.ivc = Util.safeSet(ivc);
+		this.invariants = Util.safeList(invariants);
+	}
+
+	@Override
+	public void accept(MessageHandler handler) {
+		handler.handleMessage(this);
+	}
+}
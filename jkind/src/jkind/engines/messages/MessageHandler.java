@@ -7,14 +7,29 @@ import java.util.function.Supplier;
 import jkind.JKindException;
 import jkind.engines.StopException; 
 public abstract class MessageHandler {
-	private BlockingQueue<Message> incoming = new LinkedBlockingQueue<>();
+	private volatile BlockingQueue<Message> incoming = new LinkedBlockingQueue<>();
+
+	/*
+	 * Carries no information, it only unblocks a handler which is waiting for
+	 * messages so that it can re-evaluate its stopping condition
+	 */
+	private static final Message WAKEUP = new Message() {
+		@Override
+		public void accept(MessageHandler handler) {
+		}
+	};
 
 	public void receiveMessage(Message message) {
-		if (incoming != null) {
-			incoming.add(message);
+		BlockingQueue<Message> queue = incoming;
+		if (queue != null) {
+			queue.add(message);
 		}
 	}
 
+	public void wakeup() {
+		receiveMessage(WAKEUP);
+	}
+
 	protected void stopReceivingMessages() {
 		incoming = null;
 	}
@@ -29,13 +44,31 @@ public abstract class MessageHandler {
 		message.accept(this);
 	}
 
+	/**
+	 * Handle messages until the stopping condition holds. Anything which may
+	 * change the stopping condition without sending a message must call
+	 * {@link #wakeup()}.
+	 */
 	protected void processMessagesAndWaitUntil(Supplier<Boolean> stoppingCondition) {
 		try {
 			while (!incoming.isEmpty() || !stoppingCondition.get()) {
-				Message message = incoming.poll(100, TimeUnit.MILLISECONDS);
-				if (message != null) {
-					handleMessage(message);
-				}
+				handleMessage(incoming.take());
+			}
+		} catch (InterruptedException e) {
+			throw new JKindException("Interrupted while waiting for message", e);
+		}
+	}
+
+	/**
+	 * Wait at most the given time for a message (or wakeup) to arrive, then
+	 * handle all pending messages
+	 */
+	protected void processMessagesAndWait(long millis) {
+		try {
+			Message message = incoming.poll(millis, TimeUnit.MILLISECONDS);
+			if (message != null) {
+				handleMessage(message);
+				processMessages();
 			}
 		} catch (InterruptedException e) {
 			throw new JKindException("Interrupted while waiting for message", e);
@@ -54,6 +87,14 @@ public abstract class MessageHandler {
 
 	protected abstract void handleMessage(ValidMessage vm);
 
+	@SuppressWarnings("unused")
+	protected void handleMessage(IvcFoundMessage ifm) {
+	}
+
+	@SuppressWarnings("unused")
+	protected void handleMessage(PropertiesMovedMessage pmm) {
+	}
+
 	@SuppressWarnings("unused")
 	protected void handleMessage(StopMessage sm) {
 		throw new StopException();
@@ -0,0 +1,23 @@
+package jkind.engines.messages;
+
+import java.util.List;
+
+import jkind.util.Util;
+
+/**
+ * Properties taken away from the engines of a shard so that a new shard can
+ * check them, see JKindSettings.shards. It is only sent to the engines which
+ * must stop checking the properties.
+ */
+public class PropertiesMovedMessage extends Message {
+	public final List<String> properties;
+
+	public PropertiesMovedMessage(List<String> properties) {
+		this.properties = Util.safeList(properties);
+	}
+
+	@Override
+	public void accept(MessageHandler handler) {
+		handler.handleMessage(this);
+	}
+}
@@ -1,6 +1,7 @@
 package jkind.engines.pdr;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import de.uni_freiburg.informatik.ultimate.logic.Script;
@@ -9,24 +10,38 @@ import de.uni_freiburg.informatik.ultimate.logic.Util;
 
 public class Cube {
 	private final List<Term> pLiterals = new ArrayList<>();
+	private long signature = 0;
 	private Cube next;
 
 	public void addPLiteral(Term term) {
 		pLiterals.add(term);
+		signature |= bit(term);
 	}
 
 	public void removePLiteral(Term term) {
 		pLiterals.remove(term);
+		signature = 0;
+		for (Term literal : pLiterals) {
+			signature |= bit(literal);
+		}
 	}
 
 	public List<Term> getPLiterals() {
-		return pLiterals;
+		return Collections.unmodifiableList(pLiterals);
 	}
 
 	public boolean subsumes(Cube other) {
+		// A literal missing from the other signature is missing from its cube
+		if ((signature & ~other.signature) != 0) {
+			return false;
+		}
 		return other.pLiterals.containsAll(pLiterals);
 	}
 
+	private static long bit(Term term) {
+		return 1L << (term.hashCode() & 63);
+	}
+
 	public void setNext(Cube next) {
 		this.next = next;
 	}
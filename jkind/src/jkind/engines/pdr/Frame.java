@@ -1,6 +1,11 @@
 package jkind.engines.pdr;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import de.uni_freiburg.informatik.ultimate.logic.Script;
@@ -9,7 +14,18 @@ import de.uni_freiburg.informatik.ultimate.logic.Util;
 
 public class Frame {
 	private final Term term;
-	private final Set<Cube> cubes = new HashSet<>();
+
+	/** Each cube with the literal it is watched by */
+	private final Map<Cube, Term> cubes = new HashMap<>();
+
+	/** Cubes indexed by each of their literals */
+	private final Map<Term, Set<Cube>> occurrences = new HashMap<>();
+
+	/**
+	 * Cubes indexed by a single one of their literals, the one occurring in the
+	 * fewest other cubes when the cube was added
+	 */
+	private final Map<Term, Set<Cube>> watches = new HashMap<>();
 
 	public Frame(Term term) {
 		this.term = term;
@@ -26,7 +42,7 @@ public class Frame {
 
 		Term[] terms = new Term[cubes.size()];
 		int i = 0;
-		for (Cube c : cubes) {
+		for (Cube c : cubes.keySet()) {
 			terms[i] = Util.not(script, c.toTerm(script));
 			i++;
 		}
@@ -35,11 +51,105 @@ public class Frame {
 
 	public void add(Cube c) {
 		assert term == null;
-		cubes.add(c);
+		if (cubes.containsKey(c)) {
+			return;
+		}
+
+		Term watch = getLeastOccurring(c);
+		cubes.put(c, watch);
+		for (Term literal : c.getPLiterals()) {
+			occurrences.computeIfAbsent(literal, l -> new HashSet<>()).add(c);
+		}
+		watches.computeIfAbsent(watch, l -> new HashSet<>()).add(c);
+	}
+
+	private Term getLeastOccurring(Cube c) {
+		Term result = null;
+		int min = Integer.MAX_VALUE;
+		for (Term literal : c.getPLiterals()) {
+			Set<Cube> occurring = occurrences.get(literal);
+			int count = occurring == null ? 0 : occurring.size();
+			if (count < min) {
+				result = literal;
+				min = count;
+			}
+		}
+		return result;
+	}
+
+	private void remove(Cube c) {
+		Term watch = cubes.remove(c);
+		for (Term literal : c.getPLiterals()) {
+			removeIndex(occurrences, literal, c);
+		}
+		removeIndex(watches, watch, c);
+	}
+
+	private static void removeIndex(Map<Term, Set<Cube>> index, Term literal, Cube c) {
+		Set<Cube> indexed = index.get(literal);
+		if (indexed != null) {
+			indexed.remove(c);
+			if (indexed.isEmpty()) {
+				index.remove(literal);
+			}
+		}
+	}
+
+	/**
+	 * Check if some cube of this frame subsumes the given cube
+	 */
+	public boolean hasSubsuming(Cube cube) {
+		// A subsuming cube has only literals of the given cube, so it is
+		// watched by one of them. Only an empty cube is watched by null.
+		if (anySubsumes(watches.get(null), cube)) {
+			return true;
+		}
+		for (Term literal : cube.getPLiterals()) {
+			if (anySubsumes(watches.get(literal), cube)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean anySubsumes(Set<Cube> candidates, Cube cube) {
+		if (candidates != null) {
+			for (Cube c : candidates) {
+				if (c.subsumes(cube)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remove all cubes of this frame subsumed by the given cube
+	 */
+	public void removeSubsumedBy(Cube cube) {
+		// A subsumed cube has every literal of the given cube, so it is in
+		// the shortest of their occurrence lists
+		Set<Cube> candidates = cubes.keySet();
+		for (Term literal : cube.getPLiterals()) {
+			Set<Cube> occurring = occurrences.get(literal);
+			if (occurring == null) {
+				return;
+			} else if (occurring.size() < candidates.size()) {
+				candidates = occurring;
+			}
+		}
+
+		List<Cube> subsumed = new ArrayList<>();
+		for (Cube c : candidates) {
+			if (cube.subsumes(c)) {
+				subsumed.add(c);
+			}
+		}
+		subsumed.forEach(this::remove);
 	}
 
 	public Set<Cube> getCubes() {
-		return cubes;
+		return Collections.unmodifiableSet(cubes.keySet());
 	}
 
 	public boolean isEmpty() {
@@ -51,7 +161,7 @@ public class Frame {
 		if (term != null) {
 			return term.toString();
 		} else {
-			return cubes.toString();
+			return cubes.keySet().toString();
 		}
 	}
 }
@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import jkind.JKindSettings;
 import jkind.engines.Director; 
 import jkind.engines.Engine;
@@ -19,10 +20,15 @@ import jkind.translation.Specification;
 public class PdrEngine extends Engine {
 	public static final String NAME = "pdr";
 	private final ConcurrentMap<String, PdrSubengine> subengines = new ConcurrentHashMap<>();
+	private final SharedLemmas sharedLemmas;
 	private int scratchCounter = 1;
 
+	private final AtomicLong blockedChecks = new AtomicLong();
+	private final AtomicLong satCallsAvoided = new AtomicLong();
+
 	public PdrEngine(Specification spec, JKindSettings settings, Director director) {
 		super(NAME, spec, settings, director);
+		this.sharedLemmas = settings.pdrShareLemmas ? new SharedLemmas() : null;
 	}
 
 	@Override
@@ -50,7 +56,7 @@ public class PdrEngine extends Engine {
 	private void spawnSubengine() {
 		String prop = properties.remove(0);
 		String scratch = settings.scratch ? getScratchBase() + scratchCounter++ : null;
-		PdrSubengine subengine = new PdrSubengine(prop, spec, scratch, this, director);
+		PdrSubengine subengine = new PdrSubengine(prop, spec, scratch, sharedLemmas, this, director);
 		subengines.put(prop, subengine);
 		subengine.start();
 	}
@@ -58,10 +64,33 @@ public class PdrEngine extends Engine {
 	public void reportUnknown(String prop) {
 		subengines.remove(prop);
 		director.receiveMessage(new UnknownMessage(getName(), prop));
+		wakeup();
 	}
 
 	public void reportThrowable(Throwable throwable) {
 		this.throwable = throwable;
+		wakeup();
+	}
+
+	public void recordBlockedCheck(boolean subsumed) {
+		blockedChecks.incrementAndGet();
+		if (subsumed) {
+			satCallsAvoided.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Number of times a subengine checked if a cube is blocked in a frame
+	 */
+	public long getBlockedChecks() {
+		return blockedChecks.get();
+	}
+
+	/**
+	 * Number of blocked checks answered by subsumption, without the solver
+	 */
+	public long getSatCallsAvoided() {
+		return satCallsAvoided.get();
 	}
 
 	@Override
@@ -109,5 +138,6 @@ public class PdrEngine extends Engine {
 			subengine.cancel();
 		}
 		properties.clear();
+		wakeup();
 	}
 }
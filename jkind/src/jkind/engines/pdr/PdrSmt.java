@@ -22,17 +22,19 @@ import jkind.lustre.Expr;
 import jkind.lustre.Function;
 import jkind.lustre.Node;
 import jkind.lustre.Type;
+import jkind.lustre.UnaryExpr;
+import jkind.lustre.UnaryOp;
 import jkind.lustre.VarDecl;
 import jkind.solvers.smtinterpol.ScriptUser;
 import jkind.solvers.smtinterpol.SmtInterpolUtil;
 import jkind.solvers.smtinterpol.Subst;
 import jkind.solvers.smtinterpol.Term2Expr;
 import jkind.solvers.smtlib2.SmtLib2Model;
-import jkind.solvers.smtlib2.SmtLib2Solver;
 import jkind.translation.Relation;
 import jkind.util.StreamIndex;
 
 public class PdrSmt extends ScriptUser {
+	private final Node node;
 	private final List<Frame> F;
 
 	private final List<VarDecl> varDecls;
@@ -54,6 +56,7 @@ public class PdrSmt extends ScriptUser {
 
 	public PdrSmt(Node node, List<Function> functions, List<Frame> F, String property, String scratchBase) {
 		super(SmtInterpolUtil.getScript(scratchBase));
+		this.node = node;
 		this.F = F;
 
 		script.setOption(":produce-interpolants", true);
@@ -290,6 +293,22 @@ public class PdrSmt extends ScriptUser {
 		return checkSat(query) == null;
 	}
 
+	/**
+	 * A cube for a lemma learned by another subengine, blocked in the same way
+	 * as our own F_INF cubes. The lemma is not added to the predicates, which
+	 * would grow every cube, but it still restricts the states of each frame.
+	 */
+	public Cube getLemmaCube(Expr invariant) {
+		// Under pre, variables are translated to the current state
+		Term term = new UnaryExpr(UnaryOp.PRE, invariant).accept(new Lustre2Term(script, node));
+
+		Cube cube = new Cube();
+		cube.addPLiteral(not(I));
+		cube.addPLiteral(A);
+		cube.addPLiteral(not(term));
+		return cube;
+	}
+
 	public Frame createInitialFrame() {
 		return new Frame(I);
 	}
@@ -351,7 +370,7 @@ public class PdrSmt extends ScriptUser {
 			}
 		}
 
-		return SmtLib2Solver.parseSmtLib2Model(model.toString(), varTypes, functions);
+		return SmtInterpolUtil.extractModel(script, model, varTypes, functions);
 	}
 
 	public void comment(String comment) {
@@ -1,10 +1,13 @@
 package jkind.engines.pdr;
 
+import static java.util.stream.Collectors.toSet;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
 
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import jkind.analysis.LinearChecker;
 import jkind.engines.Director;
@@ -21,6 +24,7 @@ import jkind.lustre.builders.NodeBuilder;
 import jkind.slicing.LustreSlicer;
 import jkind.solvers.Model;
 import jkind.translation.Specification;
+import jkind.util.Util;
 
 /**
  * PDR algorithm based on "Efficient implementation of property directed
@@ -34,6 +38,7 @@ public class PdrSubengine extends Thread {
 	private final Node node;
 	private final List<Function> functions;
 	private final String prop;
+	private final Set<String> cone;
 	
 	private final PdrEngine parent;
 	private final Director director;
@@ -42,15 +47,25 @@ public class PdrSubengine extends Thread {
 	private final String scratchBase;
 	private PdrSmt Z;
 
+	private final SharedLemmas sharedLemmas;
+	private int sharedLemmasSeen = 0;
+	private boolean importedLemmas = false;
+
+	private int blockedChecks = 0;
+	private int satCallsAvoided = 0;
+
 	private volatile boolean cancel = false;
 
-	public PdrSubengine(String prop, Specification spec, String scratchBase, PdrEngine parent, Director director) {
+	public PdrSubengine(String prop, Specification spec, String scratchBase, SharedLemmas sharedLemmas,
+			PdrEngine parent, Director director) {
 		super("pdr-" + prop);
 		this.prop = prop;
 		Node single = new NodeBuilder(spec.node).clearProperties().addProperty(prop).build();
 		this.node = LustreSlicer.slice(single, spec.dependencyMap);
+		this.cone = Util.getVarDecls(node).stream().map(vd -> vd.id).collect(toSet());
 		this.functions = spec.functions;
 		this.scratchBase = scratchBase;
+		this.sharedLemmas = sharedLemmas;
 		this.parent = parent;
 		this.director = director;
 	}
@@ -75,6 +90,7 @@ public class PdrSubengine extends Thread {
 
 		try {
 			while (true) {
+				importLemmas();
 				Cube c = Z.getBadCube();
 				if (c != null) {
 					blockCube(new TCube(c, depth()));
@@ -98,6 +114,9 @@ public class PdrSubengine extends Thread {
 		} catch (Throwable t) {
 			parent.reportThrowable(t);
 			return;
+		} finally {
+			Z.comment("Subsumption avoided " + satCallsAvoided + " of " + blockedChecks
+					+ " blocked cube queries");
 		}
 	}
 
@@ -148,16 +167,19 @@ public class PdrSubengine extends Thread {
 	}
 
 	private boolean isBlocked(TCube s) {
+		blockedChecks++;
+
 		// Check syntactic subsumption (faster than SAT):
 		for (int d = s.getFrame(); d < F.size(); d++) {
-			for (Cube c : F.get(d).getCubes()) {
-				if (c.subsumes(s.getCube())) {
-					return true;
-				}
+			if (F.get(d).hasSubsuming(s.getCube())) {
+				satCallsAvoided++;
+				parent.recordBlockedCheck(true);
+				return true;
 			}
 		}
 
 		// Semantic subsumption thru SAT:
+		parent.recordBlockedCheck(false);
 		return Z.isBlocked(s);
 	}
 
@@ -219,12 +241,7 @@ public class PdrSubengine extends Thread {
 
 		// Remove subsumed clauses:
 		for (int d = 1; d <= k; d++) {
-			Set<Cube> cubes = F.get(d).getCubes();
-			for (Cube c : new ArrayList<>(cubes)) {
-				if (s.getCube().subsumes(c)) {
-					cubes.remove(c);
-				}
-			}
+			F.get(d).removeSubsumedBy(s.getCube());
 		}
 
 		// Store clause
@@ -235,9 +252,33 @@ public class PdrSubengine extends Thread {
 		if (s.getFrame() == TCube.FRAME_INF) {
 			Expr invariant = Z.getInvariant(s.getCube());
 			sendInvariant(invariant);
+			if (sharedLemmas != null) {
+				sharedLemmas.add(this, invariant);
+			}
 		}
 	}
 
+	private void importLemmas() {
+		if (sharedLemmas == null) {
+			return;
+		}
+
+		int available = sharedLemmas.size();
+		for (Expr invariant : sharedLemmas.get(sharedLemmasSeen, available, this, cone)) {
+			Cube c;
+			try {
+				c = Z.getLemmaCube(invariant);
+			} catch (IllegalArgumentException | SMTLIBException e) {
+				// Not expressible in our translation, so we do without it
+				continue;
+			}
+			F.get(F.size() - 1).add(c);
+			Z.comment("Imported [INF] : " + c);
+			importedLemmas = true;
+		}
+		sharedLemmasSeen = available;
+	}
+
 	private List<Cube> getCubes(Cube init) {
 		List<Cube> result = new ArrayList<>();
 		Cube curr = init;
@@ -249,6 +290,10 @@ public class PdrSubengine extends Thread {
 	}
 
 	private void sendValidAndInvariants(List<Expr> invariants) {
+		if (importedLemmas) {
+			// Imported lemmas may rely on lemmas outside our cone of influence
+			invariants.addAll(sharedLemmas.getAll(this));
+		}
 		Itinerary itinerary = director.getValidMessageItinerary();
 		director.broadcast(new ValidMessage(parent.getName(), prop, 1, getRuntime(), invariants, null, itinerary, null));
 		director.broadcast(new InvariantMessage(invariants));
@@ -0,0 +1,77 @@
+package jkind.engines.pdr;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jkind.lustre.Expr;
+import jkind.slicing.Dependency;
+import jkind.slicing.DependencyType;
+import jkind.slicing.DependencyVisitor;
+
+/**
+ * Lemmas blocked at F_INF by the PDR subengines of one engine, so that each
+ * subengine does not rediscover them for its own property. Every lemma is an
+ * invariant of the whole model, so it can be used by any subengine whose cone
+ * of influence contains the variables of the lemma.
+ */
+public class SharedLemmas {
+	private final List<Lemma> lemmas = new ArrayList<>();
+	private final Set<String> added = new HashSet<>();
+
+	public synchronized void add(Object owner, Expr invariant) {
+		// Subengines for similar properties often learn the same lemmas
+		if (added.add(invariant.toString())) {
+			lemmas.add(new Lemma(owner, invariant));
+		}
+	}
+
+	public synchronized int size() {
+		return lemmas.size();
+	}
+
+	/**
+	 * Lemmas between the given indices, added by other owners, which only
+	 * mention variables of the given cone
+	 */
+	public synchronized List<Expr> get(int from, int to, Object owner, Set<String> cone) {
+		List<Expr> result = new ArrayList<>();
+		for (Lemma lemma : lemmas.subList(from, to)) {
+			if (lemma.owner != owner && cone.containsAll(lemma.variables)) {
+				result.add(lemma.invariant);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * All lemmas added by other owners. A lemma may rely on any lemma added
+	 * before it, so together these are inductive.
+	 */
+	public synchronized List<Expr> getAll(Object owner) {
+		List<Expr> result = new ArrayList<>();
+		for (Lemma lemma : lemmas) {
+			if (lemma.owner != owner) {
+				result.add(lemma.invariant);
+			}
+		}
+		return result;
+	}
+
+	private static class Lemma {
+		private final Object owner;
+		private final Expr invariant;
+		private final Set<String> variables = new HashSet<>();
+
+		public Lemma(Object owner, Expr invariant) {
+			this.owner = owner;
+			this.invariant = invariant;
+			for (Dependency dependency : DependencyVisitor.get(invariant)) {
+				if (dependency.type == DependencyType.VARIABLE) {
+					variables.add(dependency.name);
+				}
+			}
+		}
+	}
+}
@@ -7,9 +7,21 @@ public class Cons extends Sexp {
 	public final Sexp head;
 	public final List<? extends Sexp> args;
 
+	private int hash = 0;
+
+	/*
+	 * Shared nodes come from SexpFactory and memoize their serialization
+	 */
+	private boolean shared = false;
+	private boolean quotes = false;
+	private volatile String text = null;
+
 	public Cons(Sexp head, List<? extends Sexp> args) {
 		this.head = head;
 		this.args = args;
+		if (SexpFactory.isCountingStatistics()) {
+			SexpFactory.consAllocated();
+		}
 	}
 
 	public Cons(Sexp head, Sexp... args) {
@@ -17,8 +29,7 @@ public class Cons extends Sexp {
 	}
 
 	public Cons(String head, List<? extends Sexp> args) {
-		this.head = new Symbol(head);
-		this.args = args;
+		this(new Symbol(head), args);
 	}
 
 	public Cons(String head, Sexp... args) {
@@ -29,8 +40,40 @@ public class Cons extends Sexp {
 		this(sexps.get(0), sexps.subList(1, sexps.size()));
 	}
 
+	public boolean isShared() {
+		return shared;
+	}
+
+	void setShared() {
+		// Arguments are usually shared already, so this does not walk far
+		quotes = needsQuotes();
+		shared = true;
+	}
+
+	@Override
+	public boolean needsQuotes() {
+		if (shared) {
+			return quotes;
+		}
+
+		if (head.needsQuotes()) {
+			return true;
+		}
+		for (Sexp arg : args) {
+			if (arg.needsQuotes()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public String toString() {
+		if (text != null) {
+			SexpFactory.serialized(true);
+			return text;
+		}
+
 		StringBuilder sb = new StringBuilder();
 		toBuilder(sb);
 		return sb.toString();
@@ -38,6 +81,21 @@ public class Cons extends Sexp {
 
 	@Override
 	protected void toBuilder(StringBuilder sb) {
+		if (text != null) {
+			SexpFactory.serialized(true);
+			sb.append(text);
+		} else if (shared) {
+			StringBuilder own = new StringBuilder();
+			walk(own);
+			text = own.toString();
+			sb.append(text);
+		} else {
+			walk(sb);
+		}
+	}
+
+	private void walk(StringBuilder sb) {
+		SexpFactory.serialized(false);
 		sb.append("(");
 		head.toBuilder(sb);
 		for (Sexp arg : args) {
@@ -46,4 +104,30 @@ public class Cons extends Sexp {
 		}
 		sb.append(")");
 	}
+
+	@Override
+	public int hashCode() {
+		int result = hash;
+		if (result == 0) {
+			result = 31 * head.hashCode() + args.hashCode();
+			hash = result;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Cons)) {
+			return false;
+		}
+		Cons other = (Cons) obj;
+		if (shared && other.shared) {
+			// Interned nodes are only equal to themselves
+			return false;
+		}
+		return hashCode() == other.hashCode() && head.equals(other.head) && args.equals(other.args);
+	}
 }
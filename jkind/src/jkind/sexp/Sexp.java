@@ -5,6 +5,11 @@ import java.math.BigInteger;
 public abstract class Sexp {
 	protected abstract void toBuilder(StringBuilder sb);
 
+	/**
+	 * Whether some symbol must be quoted when written as SMT-LIB
+	 */
+	public abstract boolean needsQuotes();
+
 	public static Sexp fromInt(int i) {
 		if (i >= 0) {
 			return new Symbol(Integer.toString(i));
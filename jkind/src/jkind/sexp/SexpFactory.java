@@ -0,0 +1,109 @@
+package jkind.sexp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hash-conses s-expressions. Structurally equal nodes obtained from the factory
+ * are the same object, and interned Cons nodes remember their serialized text
+ * so a subterm which is sent to the solver repeatedly is serialized once.
+ * 
+ * Only terms which are expected to be shared should be interned. Memoizing the
+ * text of every node in a deep term would take space quadratic in its depth.
+ */
+public class SexpFactory {
+	/*
+	 * Both tables are weak so that terms of finished runs can be collected
+	 * when JKind runs repeatedly within one JVM, and concurrent since all
+	 * engines intern through them
+	 */
+	private static final WeakInterner<Symbol> symbols = new WeakInterner<>();
+	private static final WeakInterner<Cons> conses = new WeakInterner<>();
+
+	/*
+	 * Statistics are only counted when enabled, since cons allocation and
+	 * serialization are on the hot path
+	 */
+	private static volatile boolean statistics = false;
+	private static final LongAdder consAllocations = new LongAdder();
+	private static final LongAdder internHits = new LongAdder();
+	private static final LongAdder internMisses = new LongAdder();
+	private static final LongAdder serializations = new LongAdder();
+	private static final LongAdder cachedSerializations = new LongAdder();
+
+	public static Symbol symbol(String str) {
+		Symbol symbol = new Symbol(str);
+		Symbol canonical = symbols.intern(symbol);
+		count(canonical == symbol ? internMisses : internHits);
+		return canonical;
+	}
+
+	public static Cons cons(String head, List<? extends Sexp> args) {
+		return cons(symbol(head), args);
+	}
+
+	public static Cons cons(Sexp head, List<? extends Sexp> args) {
+		List<Sexp> interned = new ArrayList<>(args.size());
+		for (Sexp arg : args) {
+			interned.add(intern(arg));
+		}
+		return intern(new Cons(intern(head), interned));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T extends Sexp> T intern(T sexp) {
+		if (sexp instanceof Symbol) {
+			return (T) symbol(((Symbol) sexp).str);
+		} else if (sexp instanceof Cons) {
+			return (T) intern((Cons) sexp);
+		} else {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	private static Cons intern(Cons cons) {
+		if (cons.isShared()) {
+			return cons;
+		}
+
+		Cons canonical = conses.intern(cons);
+		if (canonical == cons) {
+			count(internMisses);
+			cons.setShared();
+		} else {
+			count(internHits);
+		}
+		return canonical;
+	}
+
+	/** Statistics */
+
+	public static void enableStatistics() {
+		statistics = true;
+	}
+
+	static boolean isCountingStatistics() {
+		return statistics;
+	}
+
+	private static void count(LongAdder counter) {
+		if (statistics) {
+			counter.increment();
+		}
+	}
+
+	static void consAllocated() {
+		consAllocations.increment();
+	}
+
+	static void serialized(boolean cached) {
+		count(cached ? cachedSerializations : serializations);
+	}
+
+	public static String getStatistics() {
+		return consAllocations.sum() + " cons allocations, " + internHits.sum() + " intern hits, "
+				+ internMisses.sum() + " intern misses, " + serializations.sum()
+				+ " cons serializations, " + cachedSerializations.sum() + " cached serializations";
+	}
+}
@@ -18,6 +18,11 @@ public class Symbol extends Sexp {
 		sb.append(str);
 	}
 
+	@Override
+	public boolean needsQuotes() {
+		return str.contains("[");
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
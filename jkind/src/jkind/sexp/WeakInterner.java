@@ -0,0 +1,74 @@
+package jkind.sexp;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent table of canonical objects which does not keep them alive.
+ * Lookups do not lock, and entries whose object has been collected are
+ * purged as the table is used.
+ */
+class WeakInterner<T> {
+	private final ConcurrentHashMap<Entry<T>, Entry<T>> table = new ConcurrentHashMap<>();
+	private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+	/**
+	 * Get the canonical object equal to the given one, which becomes
+	 * canonical itself if there is none
+	 */
+	T intern(T value) {
+		purge();
+		Entry<T> entry = new Entry<>(value, queue);
+		while (true) {
+			Entry<T> existing = table.putIfAbsent(entry, entry);
+			if (existing == null) {
+				return value;
+			}
+
+			T canonical = existing.get();
+			if (canonical != null) {
+				return canonical;
+			}
+			// Collected but not yet purged
+			table.remove(existing);
+		}
+	}
+
+	private void purge() {
+		Object entry;
+		while ((entry = queue.poll()) != null) {
+			table.remove(entry);
+		}
+	}
+
+	/**
+	 * Equal to another entry if their objects are equal. A cleared entry is
+	 * only equal to itself, so it can still be removed.
+	 */
+	private static class Entry<T> extends WeakReference<T> {
+		private final int hash;
+
+		Entry(T value, ReferenceQueue<T> queue) {
+			super(value, queue);
+			this.hash = value.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			Object value = get();
+			return value != null && value.equals(((Entry<?>) obj).get());
+		}
+	}
+}
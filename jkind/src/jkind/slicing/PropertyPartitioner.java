@@ -0,0 +1,72 @@
+package jkind.slicing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits properties into groups of similar size whose cones of influence
+ * overlap as much as possible, so that each group can be checked on a small
+ * slice of the specification.
+ */
+public class PropertyPartitioner {
+	private static class Group {
+		final List<String> properties = new ArrayList<>();
+		final DependencySet cone = new DependencySet();
+
+		int overlap(DependencySet other) {
+			int result = 0;
+			for (Dependency dep : other) {
+				if (cone.contains(dep)) {
+					result++;
+				}
+			}
+			return result;
+		}
+
+		int size() {
+			return cone.getSet().size();
+		}
+	}
+
+	public static List<List<String>> partition(List<String> properties, DependencyMap depMap, int count) {
+		int capacity = (properties.size() + count - 1) / Math.max(1, count);
+		List<Group> groups = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			groups.add(new Group());
+		}
+
+		// Place large cones first so that smaller ones can join them
+		List<String> ordered = new ArrayList<>(properties);
+		ordered.sort(Comparator.comparingInt((String p) -> depMap.get(p).getSet().size()).reversed());
+
+		for (String property : ordered) {
+			DependencySet cone = depMap.get(property);
+			Group best = null;
+			int bestOverlap = -1;
+			for (Group group : groups) {
+				if (group.properties.size() >= capacity) {
+					continue;
+				}
+
+				int overlap = group.overlap(cone);
+				if (overlap > bestOverlap || (overlap == bestOverlap && group.size() < best.size())) {
+					best = group;
+					bestOverlap = overlap;
+				}
+			}
+			best.properties.add(property);
+			best.cone.addAll(cone);
+		}
+
+		List<List<String>> result = new ArrayList<>();
+		for (Group group : groups) {
+			if (!group.properties.isEmpty()) {
+				List<String> inOrder = new ArrayList<>(properties);
+				inOrder.retainAll(group.properties);
+				result.add(inOrder);
+			}
+		}
+		return result;
+	}
+}
@@ -50,4 +50,13 @@ public abstract class Model {
 		FunctionTable functionTable = functionTables.get(name);
 		return functionTable.lookup(inputs);
 	}
+
+	/**
+	 * Get a model which remains valid after the solver that produced it is used
+	 * again. Models which are read from the solver on demand must be detached
+	 * before they are kept or sent to another engine.
+	 */
+	public Model detach() {
+		return this;
+	}
 }
@@ -36,7 +36,7 @@ public abstract class ProcessBasedSolver extends Solver {
 					+ processBuilder.command().get(0), e);
 		}
 		addShutdownHook();
-		toSolver = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+		toSolver = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()), 1 << 16);
 		fromSolver = new BufferedReader(new InputStreamReader(process.getInputStream()));
 	}
 
@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import jkind.lustre.Expr;
 import jkind.lustre.Function;
@@ -14,6 +16,7 @@ import jkind.lustre.VarDecl;
 import jkind.sexp.Cons;
 import jkind.sexp.Sexp;
 import jkind.sexp.Symbol;
+import jkind.solvers.SolverTelemetry.Operation;
 import jkind.translation.Relation;
 
 public abstract class Solver {
@@ -33,6 +36,15 @@ public abstract class Solver {
 	 */
 	public abstract Result query(Sexp sexp);
 
+	/**
+	 * Like query(), but the model for SAT may be read from the solver on
+	 * demand. Such a model is only valid until the solver is next used, see
+	 * Model.detach().
+	 */
+	public Result lazyQuery(Sexp sexp) {
+		return query(sexp);
+	}
+
 	public abstract void push();
 
 	public abstract void pop();
@@ -43,6 +55,47 @@ public abstract class Solver {
 
 	protected final Map<String, Type> varTypes = new HashMap<>();
 	protected final List<Function> functions = new ArrayList<>();
+	protected SolverTelemetry telemetry;
+
+	/**
+	 * Record the operations of this solver, or stop recording if null
+	 */
+	public void setTelemetry(SolverTelemetry telemetry) {
+		this.telemetry = telemetry;
+	}
+
+	protected <T> T timed(Operation operation, Supplier<T> action) {
+		if (telemetry == null) {
+			return action.get();
+		}
+
+		SolverTelemetry recorder = telemetry;
+		long start = recorder.begin();
+		try {
+			return action.get();
+		} finally {
+			recorder.end(operation, start);
+		}
+	}
+
+	/**
+	 * Time action.accept(target, argument). Hot paths such as assert, push,
+	 * and pop pass a non-capturing action, so nothing is allocated for it.
+	 */
+	protected <S, T> void timed(Operation operation, BiConsumer<S, T> action, S target, T argument) {
+		if (telemetry == null) {
+			action.accept(target, argument);
+			return;
+		}
+
+		SolverTelemetry recorder = telemetry;
+		long start = recorder.begin();
+		try {
+			action.accept(target, argument);
+		} finally {
+			recorder.end(operation, start);
+		}
+	}
 
 	/**
 	 * Check if the solver supports all of the operators in the expression.
@@ -72,6 +125,10 @@ public abstract class Solver {
 	 * a minimal unsat-core of activation literals for UNSAT.
 	 */
 	public Result unsatQuery(List<Symbol> activationLiterals, Sexp query) {
+		return timed(Operation.UNSAT_QUERY, () -> minimalUnsatQuery(activationLiterals, query));
+	}
+
+	private Result minimalUnsatQuery(List<Symbol> activationLiterals, Sexp query) {
 		push();
 
 		assertSexp(new Cons("not", query));
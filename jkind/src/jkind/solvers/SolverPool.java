@@ -0,0 +1,193 @@
+package jkind.solvers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import jkind.lustre.Function;
+import jkind.lustre.Type;
+import jkind.solvers.smtlib2.SmtLib2Solver;
+
+/**
+ * Keeps solver processes alive after an engine is done with them so that
+ * later engines (including the many MiniJKind runs performed during IVC
+ * computation) do not pay for starting a process and for redefining an
+ * identical transition relation.
+ *
+ * A solver is handed out in three scope levels: the options set by
+ * initialize() at the bottom, then a prelude (functions and transition
+ * relation) identified by a key, then a scope owned by the engine. On release
+ * the engine scope is popped. The prelude is kept and reused if the next
+ * request has the same prelude key, otherwise it is popped as well.
+ */
+public class SolverPool {
+	private static final SolverPool INSTANCE = new SolverPool();
+	private static final int MAX_IDLE = 16;
+
+	public static SolverPool getInstance() {
+		return INSTANCE;
+	}
+
+	private static class Entry {
+		final String key;
+		final SmtLib2Solver solver;
+		String preludeKey;
+		int engineDepth;
+		Map<String, Type> varTypes;
+		List<Function> functions;
+
+		Entry(String key, SmtLib2Solver solver) {
+			this.key = key;
+			this.solver = solver;
+		}
+	}
+
+	private final List<Entry> idle = new ArrayList<>();
+	private final Map<Solver, Entry> active = new IdentityHashMap<>();
+
+	private int hits = 0;
+	private int preludeHits = 0;
+	private int misses = 0;
+	private long spawnTime = 0;
+
+	private SolverPool() {
+	}
+
+	/**
+	 * Get a solver which has been initialized and has had the prelude applied.
+	 *
+	 * @param key
+	 *            identifies solvers which may be used interchangeably
+	 * @param factory
+	 *            creates a new solver when none is idle
+	 * @param preludeKey
+	 *            identifies the content of the prelude
+	 * @param prelude
+	 *            defines the content shared by all users of the prelude key
+	 */
+	public SmtLib2Solver acquire(String key, Supplier<SmtLib2Solver> factory, String preludeKey,
+			Consumer<Solver> prelude) {
+		Entry entry = takeIdle(key, preludeKey);
+
+		if (entry == null) {
+			long start = System.currentTimeMillis();
+			entry = new Entry(key, factory.get());
+			entry.solver.initialize();
+			synchronized (this) {
+				misses++;
+				spawnTime += System.currentTimeMillis() - start;
+			}
+		}
+
+		SmtLib2Solver solver = entry.solver;
+		if (!preludeKey.equals(entry.preludeKey)) {
+			solver.popTo(0);
+			solver.varTypes.clear();
+			solver.functions.clear();
+
+			solver.push();
+			prelude.accept(solver);
+			entry.preludeKey = preludeKey;
+		}
+
+		solver.push();
+		entry.engineDepth = solver.getScopeDepth();
+		entry.varTypes = new HashMap<>(solver.varTypes);
+		entry.functions = new ArrayList<>(solver.functions);
+
+		synchronized (this) {
+			active.put(solver, entry);
+		}
+		return solver;
+	}
+
+	private synchronized Entry takeIdle(String key, String preludeKey) {
+		Entry fallback = null;
+		for (Entry entry : idle) {
+			if (entry.key.equals(key)) {
+				if (preludeKey.equals(entry.preludeKey)) {
+					idle.remove(entry);
+					hits++;
+					preludeHits++;
+					return entry;
+				} else if (fallback == null) {
+					fallback = entry;
+				}
+			}
+		}
+
+		if (fallback != null) {
+			idle.remove(fallback);
+			hits++;
+		}
+		return fallback;
+	}
+
+	/**
+	 * Return a solver to the pool. The solver must be in a consistent state,
+	 * i.e., not in the middle of a query. Solvers which did not come from the
+	 * pool are stopped.
+	 */
+	public void release(Solver solver) {
+		Entry entry;
+		synchronized (this) {
+			entry = active.remove(solver);
+		}
+
+		if (entry == null) {
+			solver.stop();
+			return;
+		}
+
+		try {
+			entry.solver.popTo(entry.engineDepth - 1);
+			entry.solver.varTypes.clear();
+			entry.solver.varTypes.putAll(entry.varTypes);
+			entry.solver.functions.clear();
+			entry.solver.functions.addAll(entry.functions);
+		} catch (RuntimeException e) {
+			entry.solver.stop();
+			return;
+		}
+
+		Entry evicted = null;
+		synchronized (this) {
+			idle.add(entry);
+			if (idle.size() > MAX_IDLE) {
+				evicted = idle.remove(0);
+			}
+		}
+		if (evicted != null) {
+			evicted.solver.stop();
+		}
+	}
+
+	/**
+	 * Stop a solver whose state is unknown, e.g., because it was interrupted
+	 * in the middle of a query
+	 */
+	public void discard(Solver solver) {
+		synchronized (this) {
+			active.remove(solver);
+		}
+		solver.stop();
+	}
+
+	public synchronized void clear() {
+		Iterator<Entry> iterator = idle.iterator();
+		while (iterator.hasNext()) {
+			iterator.next().solver.stop();
+			iterator.remove();
+		}
+	}
+
+	public synchronized String getStatistics() {
+		return hits + " hits (" + preludeHits + " with transition relation), " + misses
+				+ " misses, " + spawnTime / 1000.0 + "s starting solvers";
+	}
+}
@@ -0,0 +1,149 @@
+package jkind.solvers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts and latencies of the solver operations made by one engine, see
+ * JKindSettings.telemetry. Latencies are also kept in a histogram whose
+ * buckets grow by factors of ten from 10 microseconds.
+ *
+ * Operations may nest, e.g., a query includes parsing its model and the push
+ * and pop around it.
+ */
+public class SolverTelemetry {
+	public enum Operation {
+		QUERY("query"), UNSAT_QUERY("unsat-query"), CHECK_SAT("check-sat"), PUSH("push"), POP(
+				"pop"), ASSERT("assert"), MODEL("model");
+
+		private final String str;
+
+		private Operation(String str) {
+			this.str = str;
+		}
+
+		@Override
+		public String toString() {
+			return str;
+		}
+	}
+
+	public static final double[] BUCKET_BOUNDS = { 1e-5, 1e-4, 1e-3, 1e-2, 1e-1, 1, 10 };
+
+	public static class Statistics {
+		public int count;
+		public long nanos;
+		public long maxNanos;
+		public final int[] histogram = new int[BUCKET_BOUNDS.length + 1];
+
+		private void add(long elapsed) {
+			count++;
+			nanos += elapsed;
+			maxNanos = Math.max(maxNanos, elapsed);
+			int bucket = 0;
+			while (bucket < BUCKET_BOUNDS.length && elapsed > BUCKET_BOUNDS[bucket] * 1e9) {
+				bucket++;
+			}
+			histogram[bucket]++;
+		}
+
+		private Statistics copy() {
+			Statistics result = new Statistics();
+			result.count = count;
+			result.nanos = nanos;
+			result.maxNanos = maxNanos;
+			System.arraycopy(histogram, 0, result.histogram, 0, histogram.length);
+			return result;
+		}
+
+		public double getSeconds() {
+			return nanos / 1e9;
+		}
+
+		public double getMaxSeconds() {
+			return maxNanos / 1e9;
+		}
+	}
+
+	private final String engine;
+	private final Map<Operation, Statistics> statistics = new EnumMap<>(Operation.class);
+	private final Deque<Integer> scopes = new ArrayDeque<>();
+	private int assertions = 0;
+	private int maxAssertions = 0;
+	private int depth = 0;
+	private long activeSince = 0;
+
+	public SolverTelemetry(String engine) {
+		this.engine = engine;
+	}
+
+	public String getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Start an operation, returning its start time for end()
+	 */
+	public synchronized long begin() {
+		long start = System.nanoTime();
+		if (depth++ == 0) {
+			activeSince = start;
+		}
+		return start;
+	}
+
+	public synchronized void end(Operation operation, long start) {
+		depth--;
+		record(operation, System.nanoTime() - start);
+	}
+
+	/**
+	 * How long the solver has been busy with its current outermost operation,
+	 * or zero if it is idle
+	 */
+	public synchronized double getActiveSeconds() {
+		return depth == 0 ? 0 : (System.nanoTime() - activeSince) / 1e9;
+	}
+
+	public synchronized void record(Operation operation, long elapsed) {
+		statistics.computeIfAbsent(operation, op -> new Statistics()).add(elapsed);
+
+		switch (operation) {
+		case PUSH:
+			scopes.push(assertions);
+			break;
+		case POP:
+			if (!scopes.isEmpty()) {
+				assertions = scopes.pop();
+			}
+			break;
+		case ASSERT:
+			assertions++;
+			maxAssertions = Math.max(maxAssertions, assertions);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * The largest number of assertions active at once, not counting any made
+	 * before the engine received the solver
+	 */
+	public synchronized int getMaxAssertions() {
+		return maxAssertions;
+	}
+
+	/**
+	 * A snapshot of the statistics, safe to read while the engine runs
+	 */
+	public synchronized Map<Operation, Statistics> getStatistics() {
+		Map<Operation, Statistics> result = new EnumMap<>(Operation.class);
+		for (Operation operation : statistics.keySet()) {
+			result.put(operation, statistics.get(operation).copy());
+		}
+		return result;
+	}
+}
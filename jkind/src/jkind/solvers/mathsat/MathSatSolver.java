@@ -20,6 +20,7 @@ import jkind.solvers.Model;
 import jkind.solvers.Result;
 import jkind.solvers.SatResult;
 import jkind.solvers.SolverParserErrorListener;
+import jkind.solvers.SolverTelemetry.Operation;
 import jkind.solvers.UnknownResult;
 import jkind.solvers.UnsatResult;
 import jkind.solvers.mathsat.MathSatParser.ModelContext;
@@ -46,6 +47,10 @@ public class MathSatSolver extends SmtLib2Solver {
 
 	@Override
 	public Result query(Sexp sexp) {
+		return timed(Operation.QUERY, () -> checkSat(sexp));
+	}
+
+	private Result checkSat(Sexp sexp) {
 		Result result = null;
 		Symbol actLit = createActivationLiteral("act", actCount++);
 		send(new Cons("assert", new Cons("=>", actLit, new Cons("not", sexp))));
@@ -63,8 +68,18 @@ public class MathSatSolver extends SmtLib2Solver {
 		return result;
 	}
 
+	@Override
+	public Result lazyQuery(Sexp sexp) {
+		// MathSAT models have their own format, see parseMathSatModel()
+		return query(sexp);
+	}
+
 	@Override
 	protected Result quickCheckSat(List<Symbol> activationLiterals) {
+		return timed(Operation.CHECK_SAT, () -> checkSatAssuming(activationLiterals));
+	}
+
+	private Result checkSatAssuming(List<Symbol> activationLiterals) {
 		if (activationLiterals.isEmpty()) {
 			send(new Cons("check-sat"));
 		} else {
@@ -90,6 +105,10 @@ public class MathSatSolver extends SmtLib2Solver {
 	}
 
 	protected Model parseMathSatModel(String string) {
+		return timed(Operation.MODEL, () -> parseModelContext(string));
+	}
+
+	private Model parseModelContext(String string) {
 		MathSatParser parser = getParser(string);
 		ModelContext ctx = parser.model();
 		ensureNoParseError(parser, string);
@@ -21,16 +21,17 @@ import jkind.solvers.Model;
 import jkind.solvers.Result;
 import jkind.solvers.SatResult;
 import jkind.solvers.Solver;
+import jkind.solvers.SolverTelemetry.Operation;
 import jkind.solvers.UnknownResult;
 import jkind.solvers.UnsatResult;
-import jkind.solvers.smtlib2.SmtLib2Solver;
 import jkind.translation.Relation;
 
 public class SmtInterpolSolver extends Solver {
 	private final Script script;
+	private final TerminationRequestImpl termination = new TerminationRequestImpl();
 
 	public SmtInterpolSolver(String scratchBase) {
-		this.script = SmtInterpolUtil.getScript(scratchBase);
+		this.script = SmtInterpolUtil.getScript(scratchBase, termination);
 	}
 
 	@Override
@@ -42,7 +43,7 @@ public class SmtInterpolSolver extends Solver {
 
 	@Override
 	public void assertSexp(Sexp sexp) {
-		script.assertTerm(convert(sexp));
+		timed(Operation.ASSERT, (solver, s) -> solver.script.assertTerm(solver.convert(s)), this, sexp);
 	}
 
 	@Override
@@ -74,6 +75,10 @@ public class SmtInterpolSolver extends Solver {
 
 	@Override
 	public Result query(Sexp sexp) {
+		return timed(Operation.QUERY, () -> checkSat(sexp));
+	}
+
+	private Result checkSat(Sexp sexp) {
 		Model model;
 
 		push();
@@ -100,6 +105,10 @@ public class SmtInterpolSolver extends Solver {
 
 	@Override
 	protected Result quickCheckSat(List<Symbol> activationLiterals) {
+		return timed(Operation.CHECK_SAT, () -> checkSatAssuming(activationLiterals));
+	}
+
+	private Result checkSatAssuming(List<Symbol> activationLiterals) {
 		push();
 
 		for (Symbol actLit : activationLiterals) {
@@ -129,17 +138,17 @@ public class SmtInterpolSolver extends Solver {
 	}
 
 	private Model extractModel(de.uni_freiburg.informatik.ultimate.logic.Model model) {
-		return SmtLib2Solver.parseSmtLib2Model(model.toString(), varTypes, functions);
+		return timed(Operation.MODEL, () -> SmtInterpolUtil.extractModel(script, model, varTypes, functions));
 	}
 
 	@Override
 	public void push() {
-		script.push(1);
+		timed(Operation.PUSH, Script::push, script, 1);
 	}
 
 	@Override
 	public void pop() {
-		script.pop(1);
+		timed(Operation.POP, Script::pop, script, 1);
 	}
 
 	@Override
@@ -147,8 +156,12 @@ public class SmtInterpolSolver extends Solver {
 		script.echo(new QuotedObject(str));
 	}
 
+	/**
+	 * Called from other threads to abandon a query which is still running
+	 */
 	@Override
 	public void stop() {
+		termination.requestTermination();
 	}
 
 	private Sort getSort(Type type) {
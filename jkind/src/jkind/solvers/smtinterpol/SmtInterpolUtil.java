@@ -1,14 +1,19 @@
 package jkind.solvers.smtinterpol;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
 import de.uni_freiburg.informatik.ultimate.logic.LoggingScript;
+import de.uni_freiburg.informatik.ultimate.logic.Model;
 import de.uni_freiburg.informatik.ultimate.logic.Script;
 import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
 import jkind.JKindException;
 import jkind.lustre.EnumType;
 import jkind.lustre.Function;
@@ -19,11 +24,22 @@ import jkind.lustre.VarDecl;
 import jkind.sexp.Cons;
 import jkind.sexp.Sexp;
 import jkind.sexp.Symbol;
+import jkind.solvers.smtlib2.SmtLib2Model;
 import jkind.util.SexpUtil;
 
 public class SmtInterpolUtil {
 	public static Script getScript(String scratchBase) {
-		Script baseScript = new SMTInterpol();
+		return getScript(scratchBase, new SMTInterpol());
+	}
+
+	/**
+	 * A script whose queries return unknown once termination is requested
+	 */
+	public static Script getScript(String scratchBase, TerminationRequest request) {
+		return getScript(scratchBase, new SMTInterpol(request));
+	}
+
+	private static Script getScript(String scratchBase, Script baseScript) {
 		if (scratchBase == null) {
 			return baseScript;
 		}
@@ -113,4 +129,45 @@ public class SmtInterpolUtil {
 		Sort output = getSort(script, function.outputs.get(0).type);
 		script.declareFun(encodedName, inputs, output);
 	}
+
+	/**
+	 * Read a model directly from SMTInterpol rather than printing it and
+	 * parsing the text
+	 */
+	public static SmtLib2Model extractModel(Script script, Model model, Map<String, Type> varTypes,
+			List<Function> functions) {
+		SmtLib2Model result = new SmtLib2Model(varTypes, functions);
+
+		List<String> constants = new ArrayList<>();
+		for (FunctionSymbol fs : model.getDefinedFunctions()) {
+			String name = fs.getName();
+			if (fs.getParameterSorts().length == 0) {
+				constants.add(name);
+			} else if (SexpUtil.isEncodedFunction(name)) {
+				result.addValue(name, getLambda(script, model, fs));
+			}
+		}
+
+		Term[] terms = constants.stream().map(script::term).toArray(i -> new Term[i]);
+		Map<Term, Term> values = model.evaluate(terms);
+		for (int i = 0; i < terms.length; i++) {
+			result.addValue(constants.get(i), Term2Sexp.sexp(values.get(terms[i])));
+		}
+
+		return result;
+	}
+
+	private static Sexp getLambda(Script script, Model model, FunctionSymbol fs) {
+		List<Sexp> args = new ArrayList<>();
+		Sort[] sorts = fs.getParameterSorts();
+		TermVariable[] params = new TermVariable[sorts.length];
+		for (int i = 0; i < params.length; i++) {
+			Sort sort = sorts[i];
+			params[i] = script.variable("x!" + i, sort);
+			args.add(new Cons(params[i].getName(), new Symbol(sort.getName())));
+		}
+
+		Term body = model.getFunctionDefinition(fs.getName(), params);
+		return new Cons("lambda", new Cons(args), Term2Sexp.sexp(body));
+	}
 }
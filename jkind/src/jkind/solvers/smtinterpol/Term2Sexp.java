@@ -0,0 +1,84 @@
+package jkind.solvers.smtinterpol;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
+import de.uni_freiburg.informatik.ultimate.logic.ConstantTerm;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import jkind.sexp.Cons;
+import jkind.sexp.Sexp;
+import jkind.sexp.Symbol;
+
+/**
+ * Converts SMTInterpol model terms into the s-expressions understood by
+ * SexpEvaluator, so that models can be read without printing and re-parsing
+ * them
+ */
+public class Term2Sexp {
+	public static Sexp sexp(Term term) {
+		if (term instanceof ConstantTerm) {
+			return sexp((ConstantTerm) term);
+		} else if (term instanceof ApplicationTerm) {
+			return sexp((ApplicationTerm) term);
+		} else if (term instanceof TermVariable) {
+			return new Symbol(((TermVariable) term).getName());
+		} else {
+			throw new IllegalArgumentException("Unhandled term type: " + term.getClass().getSimpleName());
+		}
+	}
+
+	private static Sexp sexp(ConstantTerm ct) {
+		Object value = ct.getValue();
+		if (value instanceof BigInteger) {
+			return new Symbol(value.toString());
+		} else if (value instanceof BigDecimal) {
+			return fraction(decimal((BigDecimal) value));
+		} else if (value instanceof Rational) {
+			Rational r = (Rational) value;
+			return fraction(r);
+		} else {
+			throw new IllegalArgumentException("Unhandled constant term type: " + value.getClass().getSimpleName());
+		}
+	}
+
+	private static Rational decimal(BigDecimal d) {
+		BigInteger numerator = d.unscaledValue();
+		BigInteger denominator = BigInteger.ONE;
+		if (d.scale() > 0) {
+			denominator = BigInteger.TEN.pow(d.scale());
+		} else {
+			numerator = numerator.multiply(BigInteger.TEN.pow(-d.scale()));
+		}
+		return Rational.valueOf(numerator, denominator);
+	}
+
+	private static Sexp fraction(Rational r) {
+		Symbol abs;
+		BigInteger numerator = r.numerator().abs();
+		if (r.denominator().equals(BigInteger.ONE)) {
+			abs = new Symbol(numerator.toString());
+		} else {
+			abs = new Symbol(numerator + "/" + r.denominator());
+		}
+		return r.isNegative() ? new Cons("-", abs) : abs;
+	}
+
+	private static Sexp sexp(ApplicationTerm at) {
+		String name = at.getFunction().getName();
+		Term[] params = at.getParameters();
+		if (params.length == 0) {
+			return new Symbol(name);
+		}
+
+		List<Sexp> args = new ArrayList<>();
+		for (Term param : params) {
+			args.add(sexp(param));
+		}
+		return new Cons(name, args);
+	}
+}
@@ -4,7 +4,7 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationReques
 
 public class TerminationRequestImpl implements TerminationRequest {
 
-	private boolean requestTermination = false;
+	private volatile boolean requestTermination = false;
 	
 	public void requestTermination() {
 		this.requestTermination = true;
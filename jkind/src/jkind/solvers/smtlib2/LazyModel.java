@@ -0,0 +1,139 @@
+package jkind.solvers.smtlib2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jkind.JKindException;
+import jkind.lustre.Function;
+import jkind.lustre.Type;
+import jkind.lustre.values.Value;
+import jkind.results.FunctionTable;
+import jkind.sexp.Sexp;
+import jkind.solvers.Model;
+import jkind.util.StreamIndex;
+import jkind.util.Util;
+
+/**
+ * A model which is read from the solver on demand. The first time a variable
+ * is queried, the values of all variables at the same step are fetched with a
+ * single get-value command. The full model is only fetched when it is
+ * actually needed, e.g., to enumerate variables or evaluate functions.
+ *
+ * The model is backed by the solver state after a satisfiable check and
+ * expires as soon as the solver is used again. Use detach() to get a model
+ * which outlives the query.
+ */
+public class LazyModel extends Model {
+	private final SmtLib2Solver solver;
+	private final Map<String, Sexp> values = new HashMap<>();
+	private Map<Integer, List<String>> steps;
+	private Model full;
+	private boolean expired = false;
+
+	public LazyModel(SmtLib2Solver solver, Map<String, Type> varTypes, List<Function> functions) {
+		super(varTypes, functions);
+		this.solver = solver;
+	}
+
+	@Override
+	public Value getValue(String name) {
+		if (full != null) {
+			return full.getValue(name);
+		}
+
+		Type type = varTypes.get(name);
+		if (type == null) {
+			throw new IllegalArgumentException("Model queried unknown variable: " + name);
+		}
+
+		Sexp sexp = values.get(name);
+		if (sexp == null) {
+			fetchStep(name);
+			sexp = values.get(name);
+		}
+		if (sexp == null) {
+			return Util.getDefaultValue(type);
+		}
+
+		Value value = new SexpEvaluator(this).eval(sexp);
+		return Util.promoteIfNeeded(value, type);
+	}
+
+	private void fetchStep(String name) {
+		checkNotExpired();
+		if (steps == null) {
+			steps = groupBySteps(varTypes.keySet());
+		}
+
+		List<String> batch = steps.remove(getStep(name));
+		if (batch != null) {
+			values.putAll(solver.fetchValues(batch));
+		}
+	}
+
+	private static Map<Integer, List<String>> groupBySteps(Collection<String> names) {
+		Map<Integer, List<String>> result = new HashMap<>();
+		for (String name : names) {
+			result.computeIfAbsent(getStep(name), step -> new ArrayList<>()).add(name);
+		}
+		return result;
+	}
+
+	private static Integer getStep(String name) {
+		StreamIndex si = StreamIndex.decode(name);
+		return si == null ? null : si.getIndex();
+	}
+
+	@Override
+	public Set<String> getVariableNames() {
+		return detach().getVariableNames();
+	}
+
+	@Override
+	public void addFunctionTable(String encoded, FunctionTable table) {
+		detach().addFunctionTable(encoded, table);
+	}
+
+	@Override
+	public Collection<FunctionTable> getFunctionTables() {
+		return detach().getFunctionTables();
+	}
+
+	@Override
+	public FunctionTable getFunctionTable(String name) {
+		return detach().getFunctionTable(name);
+	}
+
+	@Override
+	public Value evaluateFunction(String name, List<Value> inputs) {
+		return detach().evaluateFunction(name, inputs);
+	}
+
+	/**
+	 * Fetch the full model from the solver so that it remains available after
+	 * the solver moves on
+	 */
+	@Override
+	public Model detach() {
+		if (full == null) {
+			checkNotExpired();
+			full = solver.fetchModel();
+			values.clear();
+		}
+		return full;
+	}
+
+	void expire() {
+		expired = true;
+	}
+
+	private void checkNotExpired() {
+		if (expired) {
+			throw new JKindException("Model accessed after the solver was used again");
+		}
+	}
+}
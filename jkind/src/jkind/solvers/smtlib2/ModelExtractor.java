@@ -3,6 +3,7 @@ package jkind.solvers.smtlib2;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,8 @@ import jkind.solvers.smtlib2.SmtLib2Parser.IdContext;
 import jkind.solvers.smtlib2.SmtLib2Parser.ModelContext;
 import jkind.solvers.smtlib2.SmtLib2Parser.SymbolBodyContext;
 import jkind.solvers.smtlib2.SmtLib2Parser.TypeContext;
+import jkind.solvers.smtlib2.SmtLib2Parser.ValueContext;
+import jkind.solvers.smtlib2.SmtLib2Parser.ValuesContext;
 
 public class ModelExtractor {
 	public static SmtLib2Model getModel(ModelContext ctx, Map<String, Type> varTypes, List<Function> functions) {
@@ -29,6 +32,14 @@ public class ModelExtractor {
 		return model;
 	}
 
+	public static Map<String, Sexp> getValues(ValuesContext ctx) {
+		Map<String, Sexp> values = new HashMap<>();
+		for (ValueContext valueCtx : ctx.value()) {
+			values.put(getId(valueCtx.id()), sexp(valueCtx.body()));
+		}
+		return values;
+	}
+
 	public static void walkDefine(DefineContext ctx, SmtLib2Model model) {
 		String var = getId(ctx.id());
 		Sexp args = getArgs(ctx.arg());
@@ -9,17 +9,26 @@ import jkind.sexp.Symbol;
 
 public class Quoting {
 	public static boolean needsQuotes(Symbol symb) {
-		return symb.str.contains("[");
+		return symb.needsQuotes();
 	}
 
 	public static Symbol quoteSymbol(Symbol symb) {
 		return new Symbol("|" + symb.str + "|");
 	}
 	
+	/**
+	 * Returns the original object when nothing needs quoting so that memoized
+	 * serializations of shared subterms are preserved
+	 */
 	public static Sexp quoteSexp(Sexp sexp) {
 		if (sexp instanceof Cons) {
 			Cons cons = (Cons) sexp;
-			return new Cons(quoteSexp(cons.head), quoteSexps(cons.args));
+			Sexp head = quoteSexp(cons.head);
+			List<Sexp> args = quoteSexps(cons.args);
+			if (head == cons.head && sameElements(args, cons.args)) {
+				return cons;
+			}
+			return new Cons(head, args);
 		} else if (sexp instanceof Symbol) {
 			Symbol symb = (Symbol) sexp;
 			if (needsQuotes(symb)) {
@@ -40,6 +49,15 @@ public class Quoting {
 		return result;
 	}
 
+	private static boolean sameElements(List<Sexp> list1, List<? extends Sexp> list2) {
+		for (int i = 0; i < list1.size(); i++) {
+			if (list1.get(i) != list2.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public static String unquote(String text) {
 		if (text.startsWith("|")) {
 			return text.substring(1, text.length() - 1);
@@ -0,0 +1,81 @@
+package jkind.solvers.smtlib2;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Reads solver output on a dedicated thread and splits it into replies. Each
+ * reply is terminated by an echo of the done marker followed by the sequence
+ * number of the request which asked for it.
+ */
+public class ReplyReader extends Thread {
+	public static class Reply {
+		public final int sequence;
+		public final List<String> lines;
+
+		private Reply(int sequence, List<String> lines) {
+			this.sequence = sequence;
+			this.lines = lines;
+		}
+
+		public boolean isEndOfStream() {
+			return sequence < 0;
+		}
+	}
+
+	private final BufferedReader fromSolver;
+	private final String marker;
+	private final BlockingQueue<Reply> replies = new LinkedBlockingQueue<>();
+
+	public ReplyReader(String name, BufferedReader fromSolver, String marker) {
+		super(name + "-reader");
+		this.fromSolver = fromSolver;
+		this.marker = marker;
+		setDaemon(true);
+	}
+
+	@Override
+	public void run() {
+		List<String> lines = new ArrayList<>();
+		try {
+			String line;
+			while ((line = fromSolver.readLine()) != null) {
+				int index = line.indexOf(marker);
+				if (index >= 0) {
+					replies.add(new Reply(parseSequence(line, index + marker.length()), lines));
+					lines = new ArrayList<>();
+				} else {
+					lines.add(line);
+				}
+			}
+		} catch (IOException e) {
+			// Treated the same as the end of the stream
+		}
+		replies.add(new Reply(-1, lines));
+	}
+
+	private static int parseSequence(String line, int start) {
+		int end = start;
+		while (end < line.length() && Character.isDigit(line.charAt(end))) {
+			end++;
+		}
+		return Integer.parseInt(line.substring(start, end));
+	}
+
+	/**
+	 * Wait for the reply to the given request, discarding replies to earlier
+	 * requests which were abandoned
+	 */
+	public Reply take(int sequence) throws InterruptedException {
+		while (true) {
+			Reply reply = replies.take();
+			if (reply.isEndOfStream() || reply.sequence == sequence) {
+				return reply;
+			}
+		}
+	}
+}
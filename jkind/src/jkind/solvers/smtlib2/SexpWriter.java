@@ -0,0 +1,51 @@
+package jkind.solvers.smtlib2;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import jkind.sexp.Cons;
+import jkind.sexp.Sexp;
+import jkind.sexp.Symbol;
+
+/**
+ * Writes an s-expression directly to a stream, quoting symbols on the fly.
+ * This avoids building a quoted copy of the expression and its full text,
+ * which for the transition relation may be several megabytes.
+ */
+public class SexpWriter {
+	public static void write(Sexp sexp, Writer out) throws IOException {
+		if (sexp instanceof Cons) {
+			write((Cons) sexp, out);
+		} else if (sexp instanceof Symbol) {
+			write((Symbol) sexp, out);
+		} else {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	private static void write(Cons cons, Writer out) throws IOException {
+		if (cons.isShared() && !cons.needsQuotes()) {
+			// Shared terms memoize their text
+			out.write(cons.toString());
+			return;
+		}
+
+		out.write('(');
+		write(cons.head, out);
+		for (Sexp arg : cons.args) {
+			out.write(' ');
+			write(arg, out);
+		}
+		out.write(')');
+	}
+
+	private static void write(Symbol symbol, Writer out) throws IOException {
+		if (Quoting.needsQuotes(symbol)) {
+			out.write('|');
+			out.write(symbol.str);
+			out.write('|');
+		} else {
+			out.write(symbol.str);
+		}
+	}
+}
@@ -2,6 +2,10 @@ grammar SmtLib2;
 
 model: '(' 'model' define* ')' EOF;
 
+values: '(' value* ')' EOF;
+
+value: '(' id body ')';
+
 define: '(' 'define-fun' id '(' arg* ')' type body ')';
 
 arg: '(' id type ')';
@@ -26,10 +26,12 @@ public class SmtLib2Parser extends Parser {
 		"'not'", "'-'", "BOOL", "INT", "REAL", "ID", "WS", "ERROR"
 	};
 	public static final int
-		RULE_model = 0, RULE_define = 1, RULE_arg = 2, RULE_type = 3, RULE_body = 4, 
-		RULE_fn = 5, RULE_symbol = 6, RULE_id = 7, RULE_qid = 8;
+		RULE_model = 0, RULE_values = 1, RULE_value = 2, RULE_define = 3, RULE_arg = 4, 
+		RULE_type = 5, RULE_body = 6, RULE_fn = 7, RULE_symbol = 8, RULE_id = 9, 
+		RULE_qid = 10;
 	public static final String[] ruleNames = {
-		"model", "define", "arg", "type", "body", "fn", "symbol", "id", "qid"
+		"model", "values", "value", "define", "arg", "type", "body", "fn", "symbol", 
+		"id", "qid"
 	};
 
 	@Override
@@ -72,23 +74,109 @@ public class SmtLib2Parser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(18); match(T__6);
-			setState(19); match(T__16);
-			setState(23);
+			setState(22); match(T__6);
+			setState(23); match(T__16);
+			setState(27);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__6) {
 				{
 				{
-				setState(20); define();
+				setState(24); define();
 				}
 				}
-				setState(25);
+				setState(29);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(26); match(T__5);
-			setState(27); match(EOF);
+			setState(30); match(T__5);
+			setState(31); match(EOF);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ValuesContext extends ParserRuleContext {
+		public List<ValueContext> value() {
+			return getRuleContexts(ValueContext.class);
+		}
+		public ValueContext value(int i) {
+			return getRuleContext(ValueContext.class,i);
+		}
+		public TerminalNode EOF() { return getToken(SmtLib2Parser.EOF, 0); }
+		public ValuesContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_values; }
+	}
+
+	public final ValuesContext values() throws RecognitionException {
+		ValuesContext _localctx = new ValuesContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_values);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(33); match(T__6);
+			setState(37);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__6) {
+				{
+				{
+				setState(34); value();
+				}
+				}
+				setState(39);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			setState(40); match(T__5);
+			setState(41); match(EOF);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ValueContext extends ParserRuleContext {
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public BodyContext body() {
+			return getRuleContext(BodyContext.class,0);
+		}
+		public ValueContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_value; }
+	}
+
+	public final ValueContext value() throws RecognitionException {
+		ValueContext _localctx = new ValueContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_value);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(43); match(T__6);
+			setState(44); id();
+			setState(45); body();
+			setState(46); match(T__5);
 			}
 		}
 		catch (RecognitionException re) {
@@ -126,32 +214,32 @@ public class SmtLib2Parser extends Parser {
 
 	public final DefineContext define() throws RecognitionException {
 		DefineContext _localctx = new DefineContext(_ctx, getState());
-		enterRule(_localctx, 2, RULE_define);
+		enterRule(_localctx, 6, RULE_define);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(29); match(T__6);
-			setState(30); match(T__2);
-			setState(31); id();
-			setState(32); match(T__6);
-			setState(36);
+			setState(48); match(T__6);
+			setState(49); match(T__2);
+			setState(50); id();
+			setState(51); match(T__6);
+			setState(55);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__6) {
 				{
 				{
-				setState(33); arg();
+				setState(52); arg();
 				}
 				}
-				setState(38);
+				setState(57);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(39); match(T__5);
-			setState(40); type();
-			setState(41); body();
-			setState(42); match(T__5);
+			setState(58); match(T__5);
+			setState(59); type();
+			setState(60); body();
+			setState(61); match(T__5);
 			}
 		}
 		catch (RecognitionException re) {
@@ -180,14 +268,14 @@ public class SmtLib2Parser extends Parser {
 
 	public final ArgContext arg() throws RecognitionException {
 		ArgContext _localctx = new ArgContext(_ctx, getState());
-		enterRule(_localctx, 4, RULE_arg);
+		enterRule(_localctx, 8, RULE_arg);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(44); match(T__6);
-			setState(45); id();
-			setState(46); type();
-			setState(47); match(T__5);
+			setState(63); match(T__6);
+			setState(64); id();
+			setState(65); type();
+			setState(66); match(T__5);
 			}
 		}
 		catch (RecognitionException re) {
@@ -210,12 +298,12 @@ public class SmtLib2Parser extends Parser {
 
 	public final TypeContext type() throws RecognitionException {
 		TypeContext _localctx = new TypeContext(_ctx, getState());
-		enterRule(_localctx, 6, RULE_type);
+		enterRule(_localctx, 10, RULE_type);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(49);
+			setState(68);
 			_la = _input.LA(1);
 			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__17) | (1L << T__15) | (1L << T__14))) != 0)) ) {
 			_errHandler.recoverInline(this);
@@ -266,10 +354,10 @@ public class SmtLib2Parser extends Parser {
 
 	public final BodyContext body() throws RecognitionException {
 		BodyContext _localctx = new BodyContext(_ctx, getState());
-		enterRule(_localctx, 8, RULE_body);
+		enterRule(_localctx, 12, RULE_body);
 		int _la;
 		try {
-			setState(62);
+			setState(81);
 			switch (_input.LA(1)) {
 			case T__12:
 			case BOOL:
@@ -279,29 +367,29 @@ public class SmtLib2Parser extends Parser {
 				_localctx = new SymbolBodyContext(_localctx);
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(51); symbol();
+				setState(70); symbol();
 				}
 				break;
 			case T__6:
 				_localctx = new ConsBodyContext(_localctx);
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(52); match(T__6);
-				setState(53); fn();
-				setState(57);
+				setState(71); match(T__6);
+				setState(72); fn();
+				setState(76);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__12) | (1L << T__6) | (1L << BOOL) | (1L << INT) | (1L << REAL) | (1L << ID))) != 0)) {
 					{
 					{
-					setState(54); body();
+					setState(73); body();
 					}
 					}
-					setState(59);
+					setState(78);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
-				setState(60); match(T__5);
+				setState(79); match(T__5);
 				}
 				break;
 			default:
@@ -328,12 +416,12 @@ public class SmtLib2Parser extends Parser {
 
 	public final FnContext fn() throws RecognitionException {
 		FnContext _localctx = new FnContext(_ctx, getState());
-		enterRule(_localctx, 10, RULE_fn);
+		enterRule(_localctx, 14, RULE_fn);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(64);
+			setState(83);
 			_la = _input.LA(1);
 			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__18) | (1L << T__13) | (1L << T__11) | (1L << T__10) | (1L << T__9) | (1L << T__8) | (1L << T__7) | (1L << T__4) | (1L << T__3) | (1L << T__1) | (1L << T__0))) != 0)) ) {
 			_errHandler.recoverInline(this);
@@ -367,33 +455,33 @@ public class SmtLib2Parser extends Parser {
 
 	public final SymbolContext symbol() throws RecognitionException {
 		SymbolContext _localctx = new SymbolContext(_ctx, getState());
-		enterRule(_localctx, 12, RULE_symbol);
+		enterRule(_localctx, 16, RULE_symbol);
 		try {
-			setState(70);
+			setState(89);
 			switch (_input.LA(1)) {
 			case T__12:
 			case ID:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(66); id();
+				setState(85); id();
 				}
 				break;
 			case BOOL:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(67); match(BOOL);
+				setState(86); match(BOOL);
 				}
 				break;
 			case INT:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(68); match(INT);
+				setState(87); match(INT);
 				}
 				break;
 			case REAL:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(69); match(REAL);
+				setState(88); match(REAL);
 				}
 				break;
 			default:
@@ -424,20 +512,20 @@ public class SmtLib2Parser extends Parser {
 
 	public final IdContext id() throws RecognitionException {
 		IdContext _localctx = new IdContext(_ctx, getState());
-		enterRule(_localctx, 14, RULE_id);
+		enterRule(_localctx, 18, RULE_id);
 		try {
-			setState(74);
+			setState(93);
 			switch (_input.LA(1)) {
 			case T__12:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(72); qid();
+				setState(91); qid();
 				}
 				break;
 			case ID:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(73); match(ID);
+				setState(92); match(ID);
 				}
 				break;
 			default:
@@ -465,13 +553,13 @@ public class SmtLib2Parser extends Parser {
 
 	public final QidContext qid() throws RecognitionException {
 		QidContext _localctx = new QidContext(_ctx, getState());
-		enterRule(_localctx, 16, RULE_qid);
+		enterRule(_localctx, 20, RULE_qid);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(76); match(T__12);
-			setState(77); match(ID);
-			setState(78); match(T__12);
+			setState(95); match(T__12);
+			setState(96); match(ID);
+			setState(97); match(T__12);
 			}
 		}
 		catch (RecognitionException re) {
@@ -486,27 +574,31 @@ public class SmtLib2Parser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3\33S\4\2\t\2\4\3\t"+
-		"\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\3\2\3\2\3\2"+
-		"\7\2\30\n\2\f\2\16\2\33\13\2\3\2\3\2\3\2\3\3\3\3\3\3\3\3\3\3\7\3%\n\3"+
-		"\f\3\16\3(\13\3\3\3\3\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\4\3\5\3\5\3\6\3"+
-		"\6\3\6\3\6\7\6:\n\6\f\6\16\6=\13\6\3\6\3\6\5\6A\n\6\3\7\3\7\3\b\3\b\3"+
-		"\b\3\b\5\bI\n\b\3\t\3\t\5\tM\n\t\3\n\3\n\3\n\3\n\3\n\2\2\13\2\4\6\b\n"+
-		"\f\16\20\22\2\4\4\2\4\4\6\7\7\2\3\3\b\b\n\16\21\22\24\25Q\2\24\3\2\2\2"+
-		"\4\37\3\2\2\2\6.\3\2\2\2\b\63\3\2\2\2\n@\3\2\2\2\fB\3\2\2\2\16H\3\2\2"+
-		"\2\20L\3\2\2\2\22N\3\2\2\2\24\25\7\17\2\2\25\31\7\5\2\2\26\30\5\4\3\2"+
-		"\27\26\3\2\2\2\30\33\3\2\2\2\31\27\3\2\2\2\31\32\3\2\2\2\32\34\3\2\2\2"+
-		"\33\31\3\2\2\2\34\35\7\20\2\2\35\36\7\2\2\3\36\3\3\2\2\2\37 \7\17\2\2"+
-		" !\7\23\2\2!\"\5\20\t\2\"&\7\17\2\2#%\5\6\4\2$#\3\2\2\2%(\3\2\2\2&$\3"+
-		"\2\2\2&\'\3\2\2\2\')\3\2\2\2(&\3\2\2\2)*\7\20\2\2*+\5\b\5\2+,\5\n\6\2"+
-		",-\7\20\2\2-\5\3\2\2\2./\7\17\2\2/\60\5\20\t\2\60\61\5\b\5\2\61\62\7\20"+
-		"\2\2\62\7\3\2\2\2\63\64\t\2\2\2\64\t\3\2\2\2\65A\5\16\b\2\66\67\7\17\2"+
-		"\2\67;\5\f\7\28:\5\n\6\298\3\2\2\2:=\3\2\2\2;9\3\2\2\2;<\3\2\2\2<>\3\2"+
-		"\2\2=;\3\2\2\2>?\7\20\2\2?A\3\2\2\2@\65\3\2\2\2@\66\3\2\2\2A\13\3\2\2"+
-		"\2BC\t\3\2\2C\r\3\2\2\2DI\5\20\t\2EI\7\26\2\2FI\7\27\2\2GI\7\30\2\2HD"+
-		"\3\2\2\2HE\3\2\2\2HF\3\2\2\2HG\3\2\2\2I\17\3\2\2\2JM\5\22\n\2KM\7\31\2"+
-		"\2LJ\3\2\2\2LK\3\2\2\2M\21\3\2\2\2NO\7\t\2\2OP\7\31\2\2PQ\7\t\2\2Q\23"+
-		"\3\2\2\2\b\31&;@HL";
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3\33f\4\2\t\2\4\3\t"+
+		"\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t\13\4"+
+		"\f\t\f\3\2\3\2\3\2\7\2\34\n\2\f\2\16\2\37\13\2\3\2\3\2\3\2\3\3\3\3\7\3"+
+		"&\n\3\f\3\16\3)\13\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\4\3\5\3\5\3\5\3\5\3"+
+		"\5\7\58\n\5\f\5\16\5;\13\5\3\5\3\5\3\5\3\5\3\5\3\6\3\6\3\6\3\6\3\6\3\7"+
+		"\3\7\3\b\3\b\3\b\3\b\7\bM\n\b\f\b\16\bP\13\b\3\b\3\b\5\bT\n\b\3\t\3\t"+
+		"\3\n\3\n\3\n\3\n\5\n\\\n\n\3\13\3\13\5\13`\n\13\3\f\3\f\3\f\3\f\3\f\2"+
+		"\2\r\2\4\6\b\n\f\16\20\22\24\26\2\4\4\2\4\4\6\7\7\2\3\3\b\b\n\16\21\22"+
+		"\24\25c\2\30\3\2\2\2\4#\3\2\2\2\6-\3\2\2\2\b\62\3\2\2\2\nA\3\2\2\2\fF"+
+		"\3\2\2\2\16S\3\2\2\2\20U\3\2\2\2\22[\3\2\2\2\24_\3\2\2\2\26a\3\2\2\2\30"+
+		"\31\7\17\2\2\31\35\7\5\2\2\32\34\5\b\5\2\33\32\3\2\2\2\34\37\3\2\2\2\35"+
+		"\33\3\2\2\2\35\36\3\2\2\2\36 \3\2\2\2\37\35\3\2\2\2 !\7\20\2\2!\"\7\2"+
+		"\2\3\"\3\3\2\2\2#\'\7\17\2\2$&\5\6\4\2%$\3\2\2\2&)\3\2\2\2\'%\3\2\2\2"+
+		"\'(\3\2\2\2(*\3\2\2\2)\'\3\2\2\2*+\7\20\2\2+,\7\2\2\3,\5\3\2\2\2-.\7\17"+
+		"\2\2./\5\24\13\2/\60\5\16\b\2\60\61\7\20\2\2\61\7\3\2\2\2\62\63\7\17\2"+
+		"\2\63\64\7\23\2\2\64\65\5\24\13\2\659\7\17\2\2\668\5\n\6\2\67\66\3\2\2"+
+		"\28;\3\2\2\29\67\3\2\2\29:\3\2\2\2:<\3\2\2\2;9\3\2\2\2<=\7\20\2\2=>\5"+
+		"\f\7\2>?\5\16\b\2?@\7\20\2\2@\t\3\2\2\2AB\7\17\2\2BC\5\24\13\2CD\5\f\7"+
+		"\2DE\7\20\2\2E\13\3\2\2\2FG\t\2\2\2G\r\3\2\2\2HT\5\22\n\2IJ\7\17\2\2J"+
+		"N\5\20\t\2KM\5\16\b\2LK\3\2\2\2MP\3\2\2\2NL\3\2\2\2NO\3\2\2\2OQ\3\2\2"+
+		"\2PN\3\2\2\2QR\7\20\2\2RT\3\2\2\2SH\3\2\2\2SI\3\2\2\2T\17\3\2\2\2UV\t"+
+		"\3\2\2V\21\3\2\2\2W\\\5\24\13\2X\\\7\26\2\2Y\\\7\27\2\2Z\\\7\30\2\2[W"+
+		"\3\2\2\2[X\3\2\2\2[Y\3\2\2\2[Z\3\2\2\2\\\23\3\2\2\2]`\5\26\f\2^`\7\31"+
+		"\2\2_]\3\2\2\2_^\3\2\2\2`\25\3\2\2\2ab\7\t\2\2bc\7\31\2\2cd\7\t\2\2d\27"+
+		"\3\2\2\2\t\35\'9NS[_";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
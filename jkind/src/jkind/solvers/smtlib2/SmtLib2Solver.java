@@ -10,7 +10,6 @@ import java.util.Map;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.RecognitionException;
 
 import jkind.JKindException;
 import jkind.lustre.Function;
@@ -25,39 +24,76 @@ import jkind.solvers.ProcessBasedSolver;
 import jkind.solvers.Result;
 import jkind.solvers.SatResult;
 import jkind.solvers.SolverParserErrorListener;
+import jkind.solvers.SolverTelemetry.Operation;
 import jkind.solvers.UnknownResult;
 import jkind.solvers.UnsatResult;
+import jkind.solvers.smtlib2.ReplyReader.Reply;
 import jkind.solvers.smtlib2.SmtLib2Parser.ModelContext;
+import jkind.solvers.smtlib2.SmtLib2Parser.ValuesContext;
 import jkind.translation.Relation;
 import jkind.util.SexpUtil;
 import jkind.util.Util;
 
 public abstract class SmtLib2Solver extends ProcessBasedSolver {
+	private final ReplyReader replyReader;
+	private int requests = 0;
+	private int scopeDepth = 0;
+	private LazyModel liveModel;
+	private boolean liveModelScoped;
+	private boolean fetching = false;
+
 	public SmtLib2Solver(String scratchBase) {
 		super(scratchBase);
+		replyReader = new ReplyReader(getSolverName(), fromSolver, DONE);
+		replyReader.start();
 	}
 
 	@Override
 	public void assertSexp(Sexp sexp) {
-		send(new Cons("assert", sexp));
+		timed(Operation.ASSERT, SmtLib2Solver::send, this, new Cons("assert", sexp));
 	}
 
+	/**
+	 * Commands are buffered and only flushed when a reply is needed
+	 */
 	protected void send(Sexp sexp) {
-		send(Quoting.quoteSexp(sexp).toString());
+		releaseModel();
+		try {
+			if (scratch != null) {
+				SexpWriter.write(sexp, scratch);
+				scratch.println();
+			}
+			SexpWriter.write(sexp, toSolver);
+			toSolver.newLine();
+		} catch (IOException e) {
+			throw writeError(e);
+		}
 	}
 
 	protected void send(String str) {
+		releaseModel();
 		scratch(str);
 		try {
 			toSolver.append(str);
 			toSolver.newLine();
+		} catch (IOException e) {
+			throw writeError(e);
+		}
+	}
+
+	protected void flush() {
+		try {
 			toSolver.flush();
 		} catch (IOException e) {
-			throw new JKindException("Unable to write to " + getSolverName() + ", "
-					+ "probably due to internal JKind error", e);
+			throw writeError(e);
 		}
 	}
 
+	private JKindException writeError(IOException e) {
+		return new JKindException("Unable to write to " + getSolverName() + ", "
+				+ "probably due to internal JKind error", e);
+	}
+
 	public Symbol type(Type type) {
 		return new Symbol(Util.capitalize(Util.getName(type)));
 	}
@@ -98,6 +134,15 @@ public abstract class SmtLib2Solver extends ProcessBasedSolver {
 
 	@Override
 	public Result query(Sexp sexp) {
+		return timed(Operation.QUERY, () -> query(sexp, false));
+	}
+
+	@Override
+	public Result lazyQuery(Sexp sexp) {
+		return timed(Operation.QUERY, () -> query(sexp, true));
+	}
+
+	private Result query(Sexp sexp, boolean lazy) {
 		Result result = null;
 		push();
 
@@ -105,6 +150,10 @@ public abstract class SmtLib2Solver extends ProcessBasedSolver {
 		send("(check-sat)");
 		String status = readFromSolver();
 		if (isSat(status)) {
+			if (lazy) {
+				// The scope is popped once the model expires
+				return new SatResult(openModel(true));
+			}
 			send("(get-model)");
 			result = new SatResult(parseModel(readFromSolver()));
 		} else if (isUnsat(status)) {
@@ -119,6 +168,10 @@ public abstract class SmtLib2Solver extends ProcessBasedSolver {
 
 	@Override
 	protected Result quickCheckSat(List<Symbol> activationLiterals) {
+		return timed(Operation.CHECK_SAT, () -> checkSatAssuming(activationLiterals));
+	}
+
+	private Result checkSatAssuming(List<Symbol> activationLiterals) {
 		push();
 		for (Symbol actLit : activationLiterals) {
 			String name = "_" + actLit.str;
@@ -140,6 +193,50 @@ public abstract class SmtLib2Solver extends ProcessBasedSolver {
 		return result;
 	}
 
+	/**
+	 * Create a model which reads from the solver until its next use
+	 * 
+	 * @param scoped
+	 *            whether the query left a scope to be popped once the model
+	 *            expires
+	 */
+	protected LazyModel openModel(boolean scoped) {
+		liveModel = new LazyModel(this, varTypes, functions);
+		liveModelScoped = scoped;
+		return liveModel;
+	}
+
+	private void releaseModel() {
+		if (liveModel != null && !fetching) {
+			liveModel.expire();
+			liveModel = null;
+			if (liveModelScoped) {
+				pop();
+			}
+		}
+	}
+
+	Map<String, Sexp> fetchValues(List<String> names) {
+		fetching = true;
+		try {
+			List<Sexp> symbols = names.stream().map(Symbol::new).collect(toList());
+			send(new Cons("get-value", new Cons(symbols)));
+			return timed(Operation.MODEL, () -> parseSmtLib2Values(readFromSolver()));
+		} finally {
+			fetching = false;
+		}
+	}
+
+	Model fetchModel() {
+		fetching = true;
+		try {
+			send("(get-model)");
+			return parseModel(readFromSolver());
+		} finally {
+			fetching = false;
+		}
+	}
+
 	protected abstract List<Symbol> getUnsatCore(List<Symbol> activationLiterals);
 
 	protected boolean isSat(String output) {
@@ -153,61 +250,51 @@ public abstract class SmtLib2Solver extends ProcessBasedSolver {
 	}
 
 	protected String readFromSolver() {
-		send("(echo \"" + DONE + "\")");
+		int sequence = ++requests;
+		send("(echo \"" + DONE + sequence + "\")");
+		flush();
 
+		Reply reply;
 		try {
-			String line;
-			StringBuilder content = new StringBuilder();
-			while (true) {
-				line = fromSolver.readLine();
+			reply = replyReader.take(sequence);
+		} catch (InterruptedException e) {
+			throw new JKindException("Interrupted while waiting for " + getSolverName(), e);
+		}
+
+		// Log the whole reply first, since reading may stop at an error
+		if (scratch != null) {
+			for (String line : reply.lines) {
 				comment(getSolverName() + ": " + line);
-				if (line == null) {
-					throw new JKindException(getSolverName() + " terminated unexpectedly");
-				} else if (line.contains("define-fun " + Relation.T + " ")) {
-					// No need to parse the transition relation
-				} else if (isDone(line)) {
-					break;
-				} else if (line.contains("model is not available")) {
-					flushSolver();
-					return null;
-				} else if (line.contains(" |-> ")) {
-					// Ignore Z3 optimization information
-				} else if (line.contains("out of memory")) {
-					throw new SolverOutOfMemoryException();
-				} else if (line.contains("error \"") || line.contains("Error:")) {
-					// Flush the output since errors span multiple lines
-					flushSolver();
-					throw new JKindException(getSolverName() + " error (see scratch file for details)");
-				} else {
-					content.append(line);
-					content.append("\n");
-				}
 			}
-
-			return content.toString();
-		} catch (RecognitionException e) {
-			throw new JKindException("Error parsing " + getSolverName() + " output", e);
-		} catch (IOException e) {
-			throw new JKindException("Unable to read from " + getSolverName(), e);
 		}
-	}
 
-	protected void flushSolver() throws IOException {
-		String line;
-		while ((line = fromSolver.readLine()) != null) {
-			comment(getSolverName() + ": " + line);
-			if (isDone(line)) {
-				return;
+		StringBuilder content = new StringBuilder();
+		for (String line : reply.lines) {
+			if (line.contains("define-fun " + Relation.T + " ")) {
+				// No need to parse the transition relation
+			} else if (line.contains("model is not available")) {
+				return null;
+			} else if (line.contains(" |-> ")) {
+				// Ignore Z3 optimization information
+			} else if (line.contains("out of memory")) {
+				throw new SolverOutOfMemoryException();
+			} else if (line.contains("error \"") || line.contains("Error:")) {
+				throw new JKindException(getSolverName() + " error (see scratch file for details)");
+			} else {
+				content.append(line);
+				content.append("\n");
 			}
 		}
-	}
 
-	protected boolean isDone(String line) {
-		return line.contains(DONE);
+		if (reply.isEndOfStream()) {
+			throw new JKindException(getSolverName() + " terminated unexpectedly");
+		}
+
+		return content.toString();
 	}
 
 	protected Model parseModel(String modelStr) {
-		return parseSmtLib2Model(modelStr, varTypes, functions);
+		return timed(Operation.MODEL, () -> parseSmtLib2Model(modelStr, varTypes, functions));
 	}
 
 	public static SmtLib2Model parseSmtLib2Model(String modelStr, Map<String, Type> varTypes, List<Function> functions) {
@@ -226,14 +313,42 @@ public abstract class SmtLib2Solver extends ProcessBasedSolver {
 		return ModelExtractor.getModel(ctx, varTypes, functions);
 	}
 
+	public static Map<String, Sexp> parseSmtLib2Values(String valuesStr) {
+		CharStream stream = new ANTLRInputStream(valuesStr);
+		SmtLib2Lexer lexer = new SmtLib2Lexer(stream);
+		CommonTokenStream tokens = new CommonTokenStream(lexer);
+		SmtLib2Parser parser = new SmtLib2Parser(tokens);
+		parser.removeErrorListeners();
+		parser.addErrorListener(new SolverParserErrorListener());
+		ValuesContext ctx = parser.values();
+
+		if (parser.getNumberOfSyntaxErrors() > 0) {
+			throw new JKindException("Error parsing solver output: " + valuesStr);
+		}
+
+		return ModelExtractor.getValues(ctx);
+	}
+
 	@Override
 	public void push() {
-		send("(push 1)");
+		timed(Operation.PUSH, SmtLib2Solver::send, this, "(push 1)");
+		scopeDepth++;
 	}
 
 	@Override
 	public void pop() {
-		send("(pop 1)");
+		timed(Operation.POP, SmtLib2Solver::send, this, "(pop 1)");
+		scopeDepth--;
+	}
+
+	public int getScopeDepth() {
+		return scopeDepth;
+	}
+
+	public void popTo(int depth) {
+		while (scopeDepth > depth) {
+			pop();
+		}
 	}
 
 	@Override
@@ -31,6 +31,7 @@ import jkind.solvers.MaxSatSolver;
 import jkind.solvers.ProcessBasedSolver;
 import jkind.solvers.Result;
 import jkind.solvers.SolverParserErrorListener;
+import jkind.solvers.SolverTelemetry.Operation;
 import jkind.solvers.UnsatResult;
 import jkind.solvers.yices.YicesParser.ResultContext;
 import jkind.translation.Relation;
@@ -63,7 +64,7 @@ public class YicesSolver extends ProcessBasedSolver implements MaxSatSolver {
 
 	@Override
 	public void assertSexp(Sexp sexp) {
-		send("(assert " + sexp + ")");
+		timed(Operation.ASSERT, (solver, s) -> solver.send("(assert " + s + ")"), this, sexp);
 	}
 
 	private void send(String str) {
@@ -152,6 +153,10 @@ public class YicesSolver extends ProcessBasedSolver implements MaxSatSolver {
 
 	@Override
 	public Result query(Sexp sexp) {
+		return timed(Operation.QUERY, () -> check(sexp));
+	}
+
+	private Result check(Sexp sexp) {
 		/**
 		 * Using assert+ and retract seems to be much more efficient than push
 		 * and pop for some reason.
@@ -175,6 +180,10 @@ public class YicesSolver extends ProcessBasedSolver implements MaxSatSolver {
 
 	@Override
 	public Result unsatQuery(List<Symbol> activationLiterals, Sexp query) {
+		return timed(Operation.UNSAT_QUERY, () -> minimalUnsatQuery(activationLiterals, query));
+	}
+
+	private Result minimalUnsatQuery(List<Symbol> activationLiterals, Sexp query) {
 		push();
 
 		HashMap<Symbol, Symbol> labelToActivationLiteral = new HashMap<>();
@@ -307,12 +316,12 @@ public class YicesSolver extends ProcessBasedSolver implements MaxSatSolver {
 
 	@Override
 	public void push() {
-		send("(push)");
+		timed(Operation.PUSH, YicesSolver::send, this, "(push)");
 	}
 
 	@Override
 	public void pop() {
-		send("(pop)");
+		timed(Operation.POP, YicesSolver::send, this, "(pop)");
 	}
 
 	@Override
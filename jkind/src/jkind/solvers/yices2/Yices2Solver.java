@@ -11,6 +11,7 @@ import jkind.JKindException;
 import jkind.sexp.Symbol;
 import jkind.solvers.Model;
 import jkind.solvers.SolverParserErrorListener;
+import jkind.solvers.SolverTelemetry.Operation;
 import jkind.solvers.smtlib2.SmtLib2Solver;
 import jkind.solvers.yices2.Yices2Parser.ModelContext;
 
@@ -48,6 +49,10 @@ public class Yices2Solver extends SmtLib2Solver {
 	
 	@Override
 	protected Model parseModel(String string) {
+		return timed(Operation.MODEL, () -> parseYices2Model(string));
+	}
+
+	private Model parseYices2Model(String string) {
 		CharStream stream = new ANTLRInputStream(string);
 		Yices2Lexer lexer = new Yices2Lexer(stream);
 		CommonTokenStream tokens = new CommonTokenStream(lexer);
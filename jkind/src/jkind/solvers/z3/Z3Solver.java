@@ -1,6 +1,5 @@
 package jkind.solvers.z3;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import jkind.sexp.Cons;
@@ -9,6 +8,7 @@ import jkind.sexp.Symbol;
 import jkind.solvers.MaxSatSolver; 
 import jkind.solvers.Result;
 import jkind.solvers.SatResult;
+import jkind.solvers.SolverTelemetry.Operation;
 import jkind.solvers.UnknownResult;
 import jkind.solvers.UnsatResult;
 import jkind.solvers.smtlib2.SmtLib2Solver; 
@@ -45,6 +45,15 @@ public class Z3Solver extends SmtLib2Solver implements MaxSatSolver {
 
 	@Override
 	public Result query(Sexp sexp) {
+		return timed(Operation.QUERY, () -> query(sexp, false));
+	}
+
+	@Override
+	public Result lazyQuery(Sexp sexp) {
+		return timed(Operation.QUERY, () -> query(sexp, true));
+	}
+
+	private Result query(Sexp sexp, boolean lazy) {
 		Result result;
 
 		if (linear) {
@@ -59,7 +68,10 @@ public class Z3Solver extends SmtLib2Solver implements MaxSatSolver {
 
 		try {
 			String status = readFromSolver();
-			if (isSat(status)) {
+			if (isSat(status) && lazy) {
+				// The scope, if any, is popped once the model expires
+				return new SatResult(openModel(!linear));
+			} else if (isSat(status)) {
 				send("(get-model)");
 				result = new SatResult(parseModel(readFromSolver()));
 			} else if (isUnsat(status)) {
@@ -88,6 +100,10 @@ public class Z3Solver extends SmtLib2Solver implements MaxSatSolver {
 
 	@Override
 	public Result quickCheckSat(List<Symbol> activationLiterals) {
+		return timed(Operation.CHECK_SAT, () -> checkSatAssuming(activationLiterals));
+	}
+
+	private Result checkSatAssuming(List<Symbol> activationLiterals) {
 		send(new Cons("check-sat", activationLiterals));
 		String status = readFromSolver();
 		if (isSat(status)) {
@@ -105,6 +121,10 @@ public class Z3Solver extends SmtLib2Solver implements MaxSatSolver {
 	 *     2- or just the return Type of Result
 	 */
 	public Result checkSat(List<Symbol> activationLiterals, boolean getModel, boolean getCore) {
+		return timed(Operation.CHECK_SAT, () -> checkSatAssuming(activationLiterals, getModel, getCore));
+	}
+
+	private Result checkSatAssuming(List<Symbol> activationLiterals, boolean getModel, boolean getCore) {
 		send(new Cons("check-sat", activationLiterals));
 		String status = readFromSolver(); 
 		
@@ -140,14 +160,8 @@ public class Z3Solver extends SmtLib2Solver implements MaxSatSolver {
 	}
 
 	private String readCore() {
-		String line = "";
-		try {
-			line = fromSolver.readLine();
-			comment(getSolverName() + ": " + line);
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return line.substring(1, line.length() - 1);
+		String core = readFromSolver().trim();
+		return core.substring(1, core.length() - 1);
 	}
 
 	public Result realizabilityQuery(Sexp outputs, Sexp transition, Sexp properties, int timeoutMs) {
@@ -0,0 +1,70 @@
+package jkind.translation;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jkind.lustre.Constant;
+import jkind.lustre.EnumType;
+import jkind.lustre.Expr;
+import jkind.lustre.IdExpr;
+import jkind.lustre.IntExpr;
+import jkind.lustre.Program;
+import jkind.lustre.Type;
+import jkind.lustre.TypeDef;
+import jkind.lustre.VarDecl;
+import jkind.lustre.visitors.AstMapVisitor;
+import jkind.util.Util;
+
+/**
+ * Inline enumeration values, user types, and constants in a single traversal.
+ * This is equivalent to InlineEnumValues, InlineUserTypes, and InlineConstants
+ * in sequence.
+ */
+public class InlineDeclarations extends AstMapVisitor {
+	public static Program program(Program program) {
+		return new InlineDeclarations().visit(program);
+	}
+
+	private final Map<String, IntExpr> enumValues = new HashMap<>();
+	private final Map<String, Type> types = new HashMap<>();
+	private final Map<String, Expr> constants = new HashMap<>();
+
+	@Override
+	protected List<TypeDef> visitTypeDefs(List<TypeDef> es) {
+		for (EnumType et : Util.getEnumTypes(es)) {
+			for (int i = 0; i < et.values.size(); i++) {
+				enumValues.put(et.values.get(i), new IntExpr(i));
+			}
+		}
+		types.putAll(Util.createResolvedTypeTable(es));
+		return Collections.emptyList();
+	}
+
+	@Override
+	protected List<Constant> visitConstants(List<Constant> es) {
+		// Constant definitions are inlined where they are used
+		for (Constant e : es) {
+			constants.put(e.id, e.expr);
+		}
+
+		return Collections.emptyList();
+	}
+
+	@Override
+	public VarDecl visit(VarDecl e) {
+		return new VarDecl(e.id, Util.resolveType(e.type, types));
+	}
+
+	@Override
+	public Expr visit(IdExpr e) {
+		if (enumValues.containsKey(e.id)) {
+			return enumValues.get(e.id);
+		} else if (constants.containsKey(e.id)) {
+			return constants.get(e.id).accept(this);
+		} else {
+			return e;
+		}
+	}
+}
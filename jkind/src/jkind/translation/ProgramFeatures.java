@@ -0,0 +1,89 @@
+package jkind.translation;
+
+import jkind.lustre.ArrayAccessExpr;
+import jkind.lustre.ArrayExpr;
+import jkind.lustre.ArrayType;
+import jkind.lustre.ArrayUpdateExpr;
+import jkind.lustre.CondactExpr;
+import jkind.lustre.Program;
+import jkind.lustre.RecordAccessExpr;
+import jkind.lustre.RecordExpr;
+import jkind.lustre.RecordType;
+import jkind.lustre.RecordUpdateExpr;
+import jkind.lustre.VarDecl;
+import jkind.lustre.visitors.AstIterVisitor;
+
+/**
+ * Language features used by a program, so that translation passes for
+ * features which are absent can be skipped
+ * 
+ * Assumption: All user types have been inlined.
+ */
+public class ProgramFeatures extends AstIterVisitor {
+	public static ProgramFeatures of(Program program) {
+		ProgramFeatures features = new ProgramFeatures();
+		features.visit(program);
+		return features;
+	}
+
+	private boolean condacts = false;
+	private boolean compoundTypes = false;
+
+	public boolean hasCondacts() {
+		return condacts;
+	}
+
+	public boolean hasCompoundTypes() {
+		return compoundTypes;
+	}
+
+	@Override
+	public Void visit(VarDecl e) {
+		if (e.type instanceof ArrayType || e.type instanceof RecordType) {
+			compoundTypes = true;
+		}
+		return null;
+	}
+
+	@Override
+	public Void visit(CondactExpr e) {
+		condacts = true;
+		return super.visit(e);
+	}
+
+	@Override
+	public Void visit(ArrayAccessExpr e) {
+		compoundTypes = true;
+		return super.visit(e);
+	}
+
+	@Override
+	public Void visit(ArrayExpr e) {
+		compoundTypes = true;
+		return super.visit(e);
+	}
+
+	@Override
+	public Void visit(ArrayUpdateExpr e) {
+		compoundTypes = true;
+		return super.visit(e);
+	}
+
+	@Override
+	public Void visit(RecordAccessExpr e) {
+		compoundTypes = true;
+		return super.visit(e);
+	}
+
+	@Override
+	public Void visit(RecordExpr e) {
+		compoundTypes = true;
+		return super.visit(e);
+	}
+
+	@Override
+	public Void visit(RecordUpdateExpr e) {
+		compoundTypes = true;
+		return super.visit(e);
+	}
+}
@@ -7,6 +7,7 @@ import jkind.lustre.Function;
 import jkind.lustre.Node;
 import jkind.lustre.Program;
 import jkind.lustre.Type;
+import jkind.lustre.builders.NodeBuilder;
 import jkind.slicing.DependencyMap;
 import jkind.slicing.LustreSlicer;
 import jkind.util.Util;
@@ -35,6 +36,18 @@ public class Specification {
 		this(program, false);
 	}
 
+	/**
+	 * Restrict a specification to some of its properties, slicing away
+	 * everything outside of their cone of influence
+	 */
+	public Specification(Specification spec, List<String> properties) {
+		Node restricted = new NodeBuilder(spec.node).clearProperties().addProperties(properties).build();
+		this.dependencyMap = spec.dependencyMap;
+		this.node = LustreSlicer.slice(restricted, dependencyMap);
+		this.functions = spec.functions;
+		this.typeMap = Util.getTypeMap(node);
+	}
+
 	public Relation getTransitionRelation() {
 		if (transitionRelation == null) {
 			transitionRelation = Lustre2Sexp.constructTransitionRelation(node);
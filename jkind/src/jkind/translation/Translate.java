@@ -5,13 +5,26 @@ import jkind.translation.compound.FlattenCompoundTypes;
 
 public class Translate {
 	public static Program translate(Program program) {
-		program = InlineEnumValues.program(program);
-		program = InlineUserTypes.program(program);
-		program = InlineConstants.program(program);
-		program = RemoveCondacts.program(program);
-		program = InlineNodeCalls.program(program);
-		program = FlattenCompoundTypes.program(program);
-		program = FlattenPres.program(program);
+		return translate(program, new TranslationTimer());
+	}
+
+	/**
+	 * Translate the program, recording each pass in the given timer. Passes
+	 * for features the program does not use are skipped.
+	 */
+	public static Program translate(Program program, TranslationTimer timer) {
+		if (!program.types.isEmpty() || !program.constants.isEmpty()) {
+			program = timer.run("InlineDeclarations", InlineDeclarations::program, program);
+		}
+
+		// Later passes never introduce condacts or compound types
+		ProgramFeatures features = timer.run("ProgramFeatures", ProgramFeatures::of, program);
+		if (features.hasCondacts()) {
+			program = timer.run("RemoveCondacts", RemoveCondacts::program, program);
+		}
+		program = timer.run("InlineNodeCalls", InlineNodeCalls::program, program);
+		program = FlattenCompoundTypes.program(program, timer, features.hasCompoundTypes());
+		program = timer.run("FlattenPres", FlattenPres::program, program);
 		return program;
 	}
 }
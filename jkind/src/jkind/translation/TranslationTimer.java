@@ -0,0 +1,75 @@
+package jkind.translation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import jkind.lustre.Program;
+
+/**
+ * Records the time and allocation of each translation pass
+ */
+public class TranslationTimer {
+	private static final com.sun.management.ThreadMXBean threadBean = getThreadBean();
+
+	private final List<Timing> timings = new ArrayList<>();
+
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		Object bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+			if (threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled()) {
+				return threadBean;
+			}
+		}
+		return null;
+	}
+
+	public <T> T run(String name, Function<Program, T> pass, Program program) {
+		long allocated = getAllocatedBytes();
+		long start = System.nanoTime();
+		T result = pass.apply(program);
+		long nanos = System.nanoTime() - start;
+		if (allocated >= 0) {
+			allocated = getAllocatedBytes() - allocated;
+		}
+		timings.add(new Timing(name, nanos, allocated));
+		return result;
+	}
+
+	private static long getAllocatedBytes() {
+		if (threadBean == null) {
+			return -1;
+		}
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	public List<Timing> getTimings() {
+		return Collections.unmodifiableList(timings);
+	}
+
+	public static class Timing {
+		public final String pass;
+		public final long nanos;
+
+		/** Bytes allocated by the pass, or -1 if the JVM does not track it */
+		public final long allocatedBytes;
+
+		public Timing(String pass, long nanos, long allocatedBytes) {
+			this.pass = pass;
+			this.nanos = nanos;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		@Override
+		public String toString() {
+			String result = String.format("%s: %.1f ms", pass, nanos / 1e6);
+			if (allocatedBytes >= 0) {
+				result += String.format(", %d KB allocated", allocatedBytes / 1024);
+			}
+			return result;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package jkind.translation.compound;
 
 import jkind.lustre.Program;
+import jkind.translation.TranslationTimer;
 import jkind.translation.tuples.FlattenTuples;
 
 /**
@@ -10,15 +11,30 @@ import jkind.translation.tuples.FlattenTuples;
  */
 public class FlattenCompoundTypes {
 	public static Program program(Program program) {
-		program = RemoveNonConstantArrayIndices.program(program);
-		program = RemoveArrayUpdates.program(program);
-		program = RemoveRecordUpdates.program(program);
-		program = FlattenCompoundFunctionOutputs.program(program);
- 		program = FlattenCompoundFunctionInputs.program(program);
-		program = FlattenTuples.program(program);
-		program = FlattenCompoundComparisons.program(program);
-		program = FlattenCompoundVariables.program(program);
-		program = FlattenCompoundExpressions.program(program);
+		return program(program, new TranslationTimer(), true);
+	}
+
+	/**
+	 * Flatten recording each pass in the given timer. Without arrays and
+	 * records only function outputs and tuples need flattening.
+	 */
+	public static Program program(Program program, TranslationTimer timer, boolean hasCompoundTypes) {
+		if (hasCompoundTypes) {
+			program = timer.run("RemoveNonConstantArrayIndices", RemoveNonConstantArrayIndices::program, program);
+			program = timer.run("RemoveArrayUpdates", RemoveArrayUpdates::program, program);
+			program = timer.run("RemoveRecordUpdates", RemoveRecordUpdates::program, program);
+		}
+		if (!program.functions.isEmpty()) {
+			// Function outputs are split into one function each, even scalars
+			program = timer.run("FlattenCompoundFunctionOutputs", FlattenCompoundFunctionOutputs::program, program);
+			program = timer.run("FlattenCompoundFunctionInputs", FlattenCompoundFunctionInputs::program, program);
+		}
+		program = timer.run("FlattenTuples", FlattenTuples::program, program);
+		if (hasCompoundTypes) {
+			program = timer.run("FlattenCompoundComparisons", FlattenCompoundComparisons::program, program);
+			program = timer.run("FlattenCompoundVariables", FlattenCompoundVariables::program, program);
+			program = timer.run("FlattenCompoundExpressions", FlattenCompoundExpressions::program, program);
+		}
 		return program;
 	}
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import jkind.sexp.Sexp;
+import jkind.sexp.SexpFactory;
 import jkind.sexp.Symbol;
 
 public class StreamIndex {
@@ -24,7 +25,7 @@ public class StreamIndex {
 	}
 
 	public Symbol getEncoded() {
-		return new Symbol("$" + stream + getSuffix(index));
+		return SexpFactory.symbol("$" + stream + getSuffix(index));
 	}
 
 	public static String getSuffix(int index) {
@@ -67,8 +68,12 @@ public class StreamIndex {
 		return result;
 	}
 
+	/**
+	 * The result is interned since the same conjunctions are sent to the
+	 * solver repeatedly, e.g., as the hypotheses of k-induction
+	 */
 	public static Sexp conjoinEncodings(List<String> streams, int index) {
-		return SexpUtil.conjoin(getEncoded(fromList(streams, index)));
+		return SexpFactory.intern(SexpUtil.conjoin(getEncoded(fromList(streams, index))));
 	}
 
 	private static boolean isEncodedStreamIndex(String var) {
@@ -96,6 +96,14 @@ public class ConsoleWriter extends Writer {
 		}
 	}
 
+	@Override
+	public void writeIvcFound(String prop, Set<String> ivc, List<String> invariants) {
+		if (miniJkind == null) {
+			System.out.println("INDUCTIVE VALIDITY CORE FOUND FOR " + prop + ": "
+					+ Util.safeStringSortedSet(ivc));
+		}
+	}
+
 	@Override
 	public void writeInvalid(String prop, String source, Counterexample cex,
 			List<String> conflicts, double runtime) {
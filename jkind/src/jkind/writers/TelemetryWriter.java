@@ -0,0 +1,82 @@
+package jkind.writers;
+
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import jkind.JKindException;
+import jkind.solvers.SolverTelemetry;
+import jkind.solvers.SolverTelemetry.Operation;
+import jkind.solvers.SolverTelemetry.Statistics;
+
+/**
+ * Writes the solver telemetry of all engines as JSON, see
+ * JKindSettings.telemetry
+ */
+public class TelemetryWriter {
+	private final String filename;
+
+	public TelemetryWriter(String filename) {
+		this.filename = filename;
+	}
+
+	public void write(List<SolverTelemetry> telemetry) {
+		try (PrintWriter out = new PrintWriter(filename)) {
+			out.println("{");
+			out.println("  \"bucketBounds\": " + bucketBounds() + ",");
+			out.println("  \"engines\": [");
+			Iterator<SolverTelemetry> engines = telemetry.iterator();
+			while (engines.hasNext()) {
+				writeEngine(out, engines.next());
+				out.println(engines.hasNext() ? "," : "");
+			}
+			out.println("  ]");
+			out.println("}");
+		} catch (FileNotFoundException e) {
+			throw new JKindException("Unable to write telemetry file", e);
+		}
+	}
+
+	private void writeEngine(PrintWriter out, SolverTelemetry engine) {
+		out.println("    {");
+		out.println("      \"engine\": \"" + engine.getEngine() + "\",");
+		out.println("      \"maxAssertions\": " + engine.getMaxAssertions() + ",");
+		out.println("      \"operations\": {");
+		Map<Operation, Statistics> statistics = engine.getStatistics();
+		Iterator<Operation> operations = statistics.keySet().iterator();
+		while (operations.hasNext()) {
+			Operation operation = operations.next();
+			Statistics stats = statistics.get(operation);
+			out.print("        \"" + operation + "\": { \"count\": " + stats.count + ", \"seconds\": "
+					+ stats.getSeconds() + ", \"maxSeconds\": " + stats.getMaxSeconds() + ", \"histogram\": "
+					+ histogram(stats) + " }");
+			out.println(operations.hasNext() ? "," : "");
+		}
+		out.println("      }");
+		out.print("    }");
+	}
+
+	private static String bucketBounds() {
+		StringBuilder result = new StringBuilder("[");
+		for (int i = 0; i < SolverTelemetry.BUCKET_BOUNDS.length; i++) {
+			if (i > 0) {
+				result.append(", ");
+			}
+			result.append(SolverTelemetry.BUCKET_BOUNDS[i]);
+		}
+		return result.append("]").toString();
+	}
+
+	private static String histogram(Statistics stats) {
+		StringBuilder result = new StringBuilder("[");
+		for (int i = 0; i < stats.histogram.length; i++) {
+			if (i > 0) {
+				result.append(", ");
+			}
+			result.append(stats.histogram[i]);
+		}
+		return result.append("]").toString();
+	}
+}
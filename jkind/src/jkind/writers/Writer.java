@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Set;
 import jkind.lustre.Expr;
 import jkind.results.Counterexample;
+import jkind.solvers.SolverTelemetry;
 import jkind.util.Tuple;
 
 public abstract class Writer {
@@ -25,4 +26,17 @@ public abstract class Writer {
 
 	public abstract void writeValid(List<String> props, String source, int k, double proofTime, double runtime, List<Expr> invariants,
 			Set<String> ivc, List<Tuple<Set<String>, List<String>>> allIvcs);
+
+	/**
+	 * Called for each inductive validity core found when JKindSettings.allIvcs
+	 * is set, before the property is written as valid
+	 */
+	public void writeIvcFound(String prop, Set<String> ivc, List<String> invariants) {
+	}
+
+	/**
+	 * Called before end() when JKindSettings.telemetry is set
+	 */
+	public void writeTelemetry(List<SolverTelemetry> telemetry) {
+	}
 }
@@ -15,6 +15,9 @@ import jkind.results.Counterexample;
 import jkind.results.FunctionTable;
 import jkind.results.FunctionTableRow;
 import jkind.results.Signal;
+import jkind.solvers.SolverTelemetry;
+import jkind.solvers.SolverTelemetry.Operation;
+import jkind.solvers.SolverTelemetry.Statistics;
 import jkind.util.Tuple;
 
 public class XmlWriter extends Writer {
@@ -94,6 +97,47 @@ public class XmlWriter extends Writer {
 		out.flush();
 	}
 
+	@Override
+	public void writeIvcFound(String prop, Set<String> ivc, List<String> invariants) {
+		out.println("  <Progress source=\"all-ivcs\" property=\"" + prop + "\">");
+		for (String invariant : invariants) {
+			out.println("    <Invariant>" + escape(invariant) + "</Invariant>");
+		}
+		for (String supp : ivc) {
+			out.println("    <Ivc>" + supp + "</Ivc>");
+		}
+		out.println("  </Progress>");
+		out.flush();
+	}
+
+	@Override
+	public void writeTelemetry(List<SolverTelemetry> telemetry) {
+		for (SolverTelemetry engine : telemetry) {
+			out.println("  <Telemetry engine=\"" + engine.getEngine() + "\" maxAssertions=\""
+					+ engine.getMaxAssertions() + "\">");
+			Map<Operation, Statistics> statistics = engine.getStatistics();
+			for (Operation operation : statistics.keySet()) {
+				Statistics stats = statistics.get(operation);
+				out.println("    <Operation name=\"" + operation + "\" count=\"" + stats.count
+						+ "\" seconds=\"" + stats.getSeconds() + "\" maxSeconds=\"" + stats.getMaxSeconds()
+						+ "\" histogram=\"" + histogram(stats) + "\"/>");
+			}
+			out.println("  </Telemetry>");
+		}
+		out.flush();
+	}
+
+	private String histogram(Statistics stats) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < stats.histogram.length; i++) {
+			if (i > 0) {
+				result.append(",");
+			}
+			result.append(stats.histogram[i]);
+		}
+		return result.toString();
+	}
+
 	private String escape(Expr invariant) {
 		return invariant.toString().replace("<", "&lt;").replace(">", "&gt;");
 	}